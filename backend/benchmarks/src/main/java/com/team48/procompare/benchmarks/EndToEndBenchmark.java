@@ -0,0 +1,113 @@
+package com.team48.procompare.benchmarks;
+
+import com.team48.procompare.ProcompareApplication;
+import com.team48.procompare.controller.PlayerController;
+import com.team48.procompare.controller.TeamController;
+import com.team48.procompare.controller.UserController;
+import com.team48.procompare.model.Player;
+import com.team48.procompare.model.Team;
+import com.team48.procompare.model.User;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.TeamColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller calls through the full Spring context (proxies, caches, Hikari) against an
+ * embedded H2 database in MySQL mode, seeded with synthetic data. HTTP handling is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"2000"})
+    private int players;
+
+    private ConfigurableApplicationContext context;
+    private PlayerController playerController;
+    private TeamController teamController;
+    private UserController userController;
+    private int next;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(ProcompareApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.cloud.gcp.core.enabled=false",
+                "spring.cloud.gcp.sql.enabled=false",
+                // IGNORE_UNKNOWN_SETTINGS lets H2 accept the MySQL driver properties in application.properties.
+                "spring.datasource.url=jdbc:h2:mem:procompare;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;"
+                    + "IGNORE_UNKNOWN_SETTINGS=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.sql.init.schema-locations=classpath:bench-schema.sql",
+                "spring.sql.init.continue-on-error=false",
+                "logging.level.root=WARN")
+            .run();
+        SyntheticData.seed(context.getBean(JdbcTemplate.class), players, USERS);
+        context.getBean(PlayerAggregateStore.class).refresh();
+
+        playerController = context.getBean(PlayerController.class);
+        teamController = context.getBean(TeamController.class);
+        userController = context.getBean(UserController.class);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Player> listPlayers() {
+        return playerController.listPlayers(3, "score", "DESC", null, null, null);
+    }
+
+    @Benchmark
+    public Player getPlayer() {
+        return playerController.getPlayer(SyntheticData.playerID(next++ % players));
+    }
+
+    // Served from the serialized response cache after the first call.
+    @Benchmark
+    public ResponseEntity<byte[]> listTeams() {
+        return teamController.listTeams(null, "teamName", "ASC", null);
+    }
+
+    @Benchmark
+    public List<Team> listTeamsUncached() {
+        return teamController.queryTeams(TeamColumn.TEAM_NAME, true, "");
+    }
+
+    @Benchmark
+    public Team getTeam() {
+        return teamController.getTeam(next++ % SyntheticData.TEAMS);
+    }
+
+    @Benchmark
+    public User getUser() {
+        return userController.getUser("user" + next++ % USERS);
+    }
+}
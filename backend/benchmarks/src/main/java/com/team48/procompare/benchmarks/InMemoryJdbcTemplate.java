@@ -0,0 +1,52 @@
+package com.team48.procompare.benchmarks;
+
+import org.h2.tools.SimpleResultSet;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JdbcTemplate without a database, for measuring the Java side of a request. Row callback
+ * queries (the player aggregate load) read the synthetic player rows, argument-less mapper
+ * queries (the team index) read the synthetic team rows.
+ */
+final class InMemoryJdbcTemplate extends JdbcTemplate {
+    private final SimpleResultSet players;
+    private final SimpleResultSet teams;
+
+    InMemoryJdbcTemplate(SimpleResultSet players, SimpleResultSet teams) {
+        this.players = players;
+        this.teams = teams;
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler handler) {
+        try {
+            players.beforeFirst();
+            while (players.next()) {
+                handler.processRow(players);
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("in-memory query", sql, e);
+        }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+        try {
+            teams.beforeFirst();
+            List<T> rows = new ArrayList<>();
+            while (teams.next()) {
+                rows.add(rowMapper.mapRow(teams, rows.size()));
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("in-memory query", sql, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.team48.procompare.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team48.procompare.controller.PlayerController;
+import com.team48.procompare.controller.TeamController;
+import com.team48.procompare.model.Player;
+import com.team48.procompare.model.Team;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.QueryMetrics;
+import com.team48.procompare.service.ResourceVersions;
+import com.team48.procompare.service.SerializedResponseCache;
+import com.team48.procompare.service.TeamColumn;
+import com.team48.procompare.service.TeamIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request-dependent work of listPlayers and listTeams with the database taken out.
+ * listPlayers filters and sorts the in-memory player aggregate; listTeams walks the team
+ * index's sort orders (the serialized response cache in front of it is bypassed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingBenchmark {
+    @Param({"5000"})
+    private int players;
+
+    private PlayerController playerController;
+    private TeamController teamController;
+
+    @Setup
+    public void setUp() {
+        InMemoryJdbcTemplate jdbcTemplate = new InMemoryJdbcTemplate(SyntheticData.playerAggregateRows(players), SyntheticData.teamRows());
+        QueryMetrics queryMetrics = new QueryMetrics(new SimpleMeterRegistry());
+        PlayerAggregateStore playerStore = new PlayerAggregateStore(jdbcTemplate, event -> { }, queryMetrics);
+        playerStore.refresh();
+        playerController = new PlayerController(playerStore);
+        TeamIndex teamIndex = new TeamIndex(jdbcTemplate, queryMetrics);
+        teamIndex.rebuild();
+        teamController = new TeamController(playerStore, teamIndex, new SerializedResponseCache(new ObjectMapper(),
+                                                new SimpleMeterRegistry(), 8 << 20), new ResourceVersions());
+        // Player sort orders are built on first use per column; keep that out of the measurement.
+        playerController.listPlayers(1, "playerName", "ASC", null, null, null);
+        playerController.listPlayers(1, "score", "DESC", null, null, null);
+    }
+
+    @Benchmark
+    public List<Player> listPlayersByScore() {
+        return playerController.listPlayers(3, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Player> listPlayersFiltered() {
+        return playerController.listPlayers(1, "playerName", "ASC", "player 12", null, "QB");
+    }
+
+    @Benchmark
+    public List<Team> listTeamsByName() {
+        return teamController.queryTeams(TeamColumn.TEAM_NAME, true, "");
+    }
+
+    @Benchmark
+    public List<Team> listTeamsFiltered() {
+        return teamController.queryTeams(TeamColumn.TEAM_STRENGTH, false, "team a");
+    }
+}
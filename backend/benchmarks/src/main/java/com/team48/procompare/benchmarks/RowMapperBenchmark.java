@@ -0,0 +1,64 @@
+package com.team48.procompare.benchmarks;
+
+import com.team48.procompare.rowmapper.PlayerRowMapper;
+import com.team48.procompare.rowmapper.TeamRowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning result set rows into model objects, without any JDBC driver underneath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private SimpleResultSet players;
+    private SimpleResultSet teams;
+
+    @Setup
+    public void setUp() {
+        players = SyntheticData.playerAggregateRows(rows);
+        teams = SyntheticData.teamRows();
+    }
+
+    @Benchmark
+    public void mapPlayers(Blackhole blackhole) throws SQLException {
+        players.beforeFirst();
+        // One mapper per query, as in the controllers.
+        PlayerRowMapper mapper = new PlayerRowMapper();
+        int rowNum = 0;
+        while (players.next()) {
+            blackhole.consume(mapper.mapRow(players, rowNum++));
+        }
+    }
+
+    @Benchmark
+    public void mapTeams(Blackhole blackhole) throws SQLException {
+        teams.beforeFirst();
+        TeamRowMapper mapper = new TeamRowMapper();
+        int rowNum = 0;
+        while (teams.next()) {
+            blackhole.consume(mapper.mapRow(teams, rowNum++));
+        }
+    }
+}
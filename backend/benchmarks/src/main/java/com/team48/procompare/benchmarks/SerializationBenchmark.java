@@ -0,0 +1,80 @@
+package com.team48.procompare.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team48.procompare.model.Player;
+import com.team48.procompare.model.Team;
+import com.team48.procompare.model.User;
+import com.team48.procompare.rowmapper.PlayerRowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response payloads: a page of players, a team with its top
+ * players and a user with twenty favorites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Player> playerPage;
+    private Team team;
+    private User user;
+
+    @Setup
+    public void setUp() throws SQLException {
+        SimpleResultSet rows = SyntheticData.playerAggregateRows(50);
+        PlayerRowMapper mapper = new PlayerRowMapper();
+        playerPage = new ArrayList<>();
+        while (rows.next()) {
+            playerPage.add(mapper.mapRow(rows, playerPage.size()));
+        }
+
+        team = new Team();
+        team.setTeamID(1);
+        team.setTeamName(SyntheticData.teamName(1));
+        team.setTeamStrength(87.5f);
+        team.setTopQB(playerPage.get(0));
+        team.setTopRB(playerPage.get(1));
+        team.setTopWR(playerPage.get(2));
+        team.setTopTE(playerPage.get(3));
+
+        user = new User();
+        user.setUsername("user0");
+        user.setFavorites(playerPage.subList(0, 20));
+    }
+
+    @Benchmark
+    public byte[] playerPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(playerPage);
+    }
+
+    @Benchmark
+    public byte[] team() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(team);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+}
@@ -0,0 +1,134 @@
+package com.team48.procompare.benchmarks;
+
+import com.team48.procompare.model.PlayerStats;
+import org.h2.tools.SimpleResultSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fake data shaped like the production tables: in-memory result sets for the
+ * row mapper benchmarks and seed rows for the embedded database.
+ */
+final class SyntheticData {
+    static final String[] POSITIONS = {"QB", "RB", "WR", "TE"};
+    static final int TEAMS = 32;
+    static final int SEASONS = 6;
+
+    private SyntheticData() {
+    }
+
+    static String playerID(int i) {
+        return String.format("P%05d", i);
+    }
+
+    static String teamName(int teamID) {
+        return "Team " + (char) ('A' + teamID % 26) + teamID;
+    }
+
+    /**
+     * @return Rows in the shape of the player aggregate query, rewindable with beforeFirst().
+     */
+    static SimpleResultSet playerAggregateRows(int rows) {
+        SimpleResultSet result = new SimpleResultSet();
+        result.setAutoClose(false);
+        result.addColumn("playerID", Types.VARCHAR, 255, 0);
+        result.addColumn("playerName", Types.VARCHAR, 255, 0);
+        result.addColumn("playerAge", Types.INTEGER, 10, 0);
+        result.addColumn("teamID", Types.INTEGER, 10, 0);
+        result.addColumn("teamName", Types.VARCHAR, 255, 0);
+        result.addColumn("position", Types.VARCHAR, 2, 0);
+        result.addColumn("score", Types.REAL, 7, 0);
+        result.addColumn("numSeasons", Types.BIGINT, 19, 0);
+        result.addColumn("numGames", Types.BIGINT, 19, 0);
+        for (String stat : PlayerStats.STAT_NAMES) {
+            result.addColumn("avg" + stat, Types.DOUBLE, 17, 0);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            int teamID = i % TEAMS;
+            List<Object> row = new ArrayList<>();
+            row.add(playerID(i));
+            row.add("Player " + i);
+            row.add(21 + random.nextInt(15));
+            row.add(teamID);
+            row.add(teamName(teamID));
+            row.add(POSITIONS[i % POSITIONS.length]);
+            row.add(random.nextFloat() * 100);
+            row.add((long) SEASONS);
+            row.add((long) SEASONS * 17);
+            for (int stat = 0; stat < PlayerStats.STAT_NAMES.size(); stat++) {
+                // Roughly one value in ten is NULL, as for stats a player never recorded.
+                row.add(random.nextInt(10) == 0 ? null : random.nextDouble() * 300);
+            }
+            result.addRow(row.toArray());
+        }
+        return result;
+    }
+
+    /**
+     * @return Rows of the Team table, rewindable with beforeFirst().
+     */
+    static SimpleResultSet teamRows() {
+        SimpleResultSet result = new SimpleResultSet();
+        result.setAutoClose(false);
+        result.addColumn("teamID", Types.INTEGER, 10, 0);
+        result.addColumn("teamName", Types.VARCHAR, 255, 0);
+        result.addColumn("teamStrength", Types.REAL, 7, 0);
+        Random random = new Random(7);
+        for (int teamID = 0; teamID < TEAMS; teamID++) {
+            result.addRow(teamID, teamName(teamID), random.nextFloat() * 100);
+        }
+        return result;
+    }
+
+    /**
+     * Fills Team, Player, Statistics, Users and Favorites (see bench-schema.sql).
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int players, int users) {
+        Random random = new Random(42);
+        List<Object[]> teams = new ArrayList<>();
+        for (int teamID = 0; teamID < TEAMS; teamID++) {
+            teams.add(new Object[] {teamID, teamName(teamID), random.nextFloat() * 100});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Team (teamID, teamName, teamStrength) VALUES (?, ?, ?)", teams);
+
+        List<Object[]> playerRows = new ArrayList<>();
+        List<Object[]> statisticsRows = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            playerRows.add(new Object[] {
+                playerID(i), "Player " + i, 21 + random.nextInt(15), i % TEAMS,
+                POSITIONS[i % POSITIONS.length], random.nextFloat() * 100});
+            for (int season = 0; season < SEASONS; season++) {
+                statisticsRows.add(new Object[] {
+                    playerID(i), 2018 + season, 17,
+                    random.nextInt(5000), random.nextInt(40), random.nextInt(20), random.nextFloat() * 100,
+                    random.nextInt(300), random.nextInt(1500), random.nextInt(15),
+                    random.nextInt(120), random.nextInt(1500), random.nextInt(15)});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO Player (playerID, playerName, playerAge, teamID, position, score) VALUES (?, ?, ?, ?, ?, ?)",
+            playerRows);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Statistics (playerID, year, games, passYds, passTDs, ints, compPct,
+                                    rshAtt, rshYds, rshTDs, rec, recYds, recTDs)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, statisticsRows);
+
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> favoriteRows = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            userRows.add(new Object[] {"user" + u});
+            for (int f = 0; f < 20; f++) {
+                favoriteRows.add(new Object[] {"user" + u, playerID((u * 20 + f) % players)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Users (username) VALUES (?)", userRows);
+        jdbcTemplate.batchUpdate("INSERT INTO Favorites (username, playerID) VALUES (?, ?)", favoriteRows);
+    }
+}
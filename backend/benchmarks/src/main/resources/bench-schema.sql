@@ -0,0 +1,63 @@
+-- Minimal copy of the production schema for the embedded H2 database (MySQL mode).
+CREATE TABLE Team (
+    teamID INT PRIMARY KEY,
+    teamName VARCHAR(255),
+    teamStrength FLOAT
+);
+
+CREATE TABLE Player (
+    playerID VARCHAR(255) PRIMARY KEY,
+    playerName VARCHAR(255),
+    playerAge INT,
+    teamID INT REFERENCES Team(teamID),
+    position VARCHAR(2),
+    score FLOAT
+);
+
+CREATE TABLE Statistics (
+    playerID VARCHAR(255) REFERENCES Player(playerID),
+    year INT,
+    games INT,
+    passYds INT,
+    passTDs INT,
+    ints INT,
+    compPct FLOAT,
+    rshAtt INT,
+    rshYds INT,
+    rshTDs INT,
+    rec INT,
+    recYds INT,
+    recTDs INT,
+    PRIMARY KEY (playerID, year)
+);
+
+CREATE TABLE Users (
+    username VARCHAR(255) PRIMARY KEY
+);
+
+CREATE TABLE Favorites (
+    username VARCHAR(255) REFERENCES Users(username),
+    playerID VARCHAR(255) REFERENCES Player(playerID),
+    PRIMARY KEY (username, playerID)
+);
+
+CREATE TABLE Articles (
+    articleID INT AUTO_INCREMENT PRIMARY KEY,
+    headlines VARCHAR(255),
+    userID VARCHAR(255),
+    numUpvotes INT DEFAULT 0,
+    numDownvotes INT DEFAULT 0
+);
+
+CREATE TABLE Comments (
+    commentID INT AUTO_INCREMENT PRIMARY KEY,
+    articleID INT REFERENCES Articles(articleID),
+    userID VARCHAR(255),
+    text VARCHAR(1024)
+);
+
+CREATE TABLE PlayerNews (
+    playerID VARCHAR(255) REFERENCES Player(playerID),
+    articleID INT REFERENCES Articles(articleID),
+    PRIMARY KEY (playerID, articleID)
+);
@@ -0,0 +1,51 @@
+package com.team48.procompare.config;
+
+import com.team48.procompare.service.ResourceVersions;
+import com.team48.procompare.service.SerializedResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags GET responses of one resource family with its current version ETag and answers a
+ * matching If-None-Match with 304 Not Modified, before the handler runs any SQL or
+ * serialization. The tag is read before the handler, so a write racing the request can only
+ * pair newer data with an older tag, which the next request corrects.
+ *
+ * A replica may not have a write yet for a while after the version moves, so for
+ * {@code replicaDelayMillis} after a bump the family's reads are kept on the primary; a
+ * replica never pairs older data with the new tag.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private final ResourceVersions versions;
+    private final ResourceVersions.Family family;
+    private final long replicaDelayMillis;
+
+    public ConditionalGetInterceptor(ResourceVersions versions, ResourceVersions.Family family,
+                                     long replicaDelayMillis) {
+        this.versions = versions;
+        this.family = family;
+        this.replicaDelayMillis = replicaDelayMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String etag = versions.etag(family);
+        // Checked after reading the tag: a bump is timed before its version moves.
+        if (versions.millisSinceBump(family) <= replicaDelayMillis) {
+            ReplicaRoutingDataSource.setReplicaAllowed(false);
+        }
+        if (SerializedResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            // The body may be gzipped, a different representation that needs its own strong tag.
+            etag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Sets the ETag header, and the 304 status when the client's tag matches.
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
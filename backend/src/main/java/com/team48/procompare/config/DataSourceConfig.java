@@ -0,0 +1,83 @@
+package com.team48.procompare.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application's DataSource: the primary pool from {@code spring.datasource.*}, plus one
+ * pool per URL in {@code procompare.datasource.replica-urls} for read-only work (see
+ * {@link ReplicaRoutingDataSource}). Replica pools copy the primary's settings, credentials
+ * included. With no replica URLs everything goes to the primary.
+ *
+ * Statistics imports write through a small pool of their own on the primary database, where
+ * Connector/J rewrites batches into multi-row INSERTs. Rewritten batches report no per-row
+ * update counts, so the rest of the application does not use it.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${procompare.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${procompare.datasource.replica-lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${procompare.datasource.max-replica-lag-seconds:5}") long maxLagSeconds,
+            @Value("${procompare.datasource.replica-check-interval-ms:5000}") long checkIntervalMillis) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            replicas.add(new HikariDataSource(config));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery,
+                                                                        maxLagSeconds);
+        routing.startChecks(checkIntervalMillis);
+        return routing;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource importDataSource(HikariDataSource primaryDataSource) {
+        // A fresh config rather than copyStateTo, which would share the primary's driver properties.
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(primaryDataSource.getJdbcUrl());
+        config.setUsername(primaryDataSource.getUsername());
+        config.setPassword(primaryDataSource.getPassword());
+        config.setDriverClassName(primaryDataSource.getDriverClassName());
+        primaryDataSource.getDataSourceProperties().forEach(
+            (name, value) -> config.addDataSourceProperty((String) name, value));
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // One import runs at a time; hold no connection between imports.
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(0);
+        config.setPoolName("import");
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
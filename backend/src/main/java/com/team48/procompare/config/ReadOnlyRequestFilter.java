@@ -0,0 +1,29 @@
+package com.team48.procompare.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks GET and HEAD requests as read-only for the duration of the request, so their queries
+ * may be served by a replica (see {@link ReplicaRoutingDataSource}).
+ */
+@Component
+public class ReadOnlyRequestFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String method = request.getMethod();
+        ReplicaRoutingDataSource.setReplicaAllowed("GET".equals(method) || "HEAD".equals(method));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setReplicaAllowed(false);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.team48.procompare.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Sends read-only database work to a replica and everything else to the primary.
+ *
+ * Work is read-only inside a {@code readOnly} transaction, or outside any transaction on a
+ * thread marked by {@link ReadOnlyRequestFilter} (GET and HEAD requests) and not unmarked by
+ * {@link ConditionalGetInterceptor} (reads of recently written data). Any other
+ * transaction, including one started during a GET, stays on the primary, as does work handed
+ * to another thread. Use behind a LazyConnectionDataSourceProxy so a transaction's connection
+ * is only chosen once its read-only flag is known.
+ *
+ * Replicas are checked every few seconds: one is used only while it answers the lag query
+ * with a lag in seconds (column {@value #LAG_COLUMN}) of at most the staleness tolerance.
+ * Reads are spread round-robin over healthy replicas; a replica that fails to hand out a
+ * connection is marked unhealthy until its next good check, and with no healthy replica reads
+ * fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    // 1 while replicas.get(i) may serve reads.
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery,
+                                    long maxLagSeconds) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.healthy = new AtomicIntegerArray(replicas.size());
+    }
+
+    /**
+     * Lets the current thread's work outside transactions go to a replica, or stops it.
+     */
+    static void setReplicaAllowed(boolean allowed) {
+        if (allowed) {
+            REPLICA_ALLOWED.set(Boolean.TRUE);
+        } else {
+            REPLICA_ALLOWED.remove();
+        }
+    }
+
+    /**
+     * Runs work on the primary even in a read-only request, for loads that seed state later
+     * kept up to date by writes and so must not miss any recent write.
+     */
+    public static void onPrimary(Runnable work) {
+        Boolean allowed = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.remove();
+        try {
+            work.run();
+        } finally {
+            if (allowed != null) {
+                REPLICA_ALLOWED.set(allowed);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(username, password);
+    }
+
+    private Connection connection(String username, String password) throws SQLException {
+        if (!replicas.isEmpty() && readOnly()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int replica = (start + i) % replicas.size();
+                if (healthy.get(replica) == 1) {
+                    try {
+                        return connect(replicas.get(replica), username, password);
+                    } catch (SQLException e) {
+                        healthy.set(replica, 0);
+                    }
+                }
+            }
+        }
+        return connect(primary, username, password);
+    }
+
+    private static boolean readOnly() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    /**
+     * Checks every replica's lag and marks it healthy or not.
+     */
+    public void checkReplicas() {
+        for (int replica = 0; replica < replicas.size(); replica++) {
+            healthy.set(replica, withinTolerance(replicas.get(replica)) ? 1 : 0);
+        }
+    }
+
+    public int healthyReplicas() {
+        int count = 0;
+        for (int replica = 0; replica < healthy.length(); replica++) {
+            count += healthy.get(replica);
+        }
+        return count;
+    }
+
+    private boolean withinTolerance(DataSource replica) {
+        try {
+            // No row, or a NULL lag, means the replica is not applying changes.
+            List<Long> lag = new JdbcTemplate(replica).query(lagQuery, (result, row) -> {
+                long seconds = result.getLong(LAG_COLUMN);
+                return result.wasNull() ? null : seconds;
+            });
+            return !lag.isEmpty() && lag.get(0) != null && lag.get(0) <= maxLagSeconds;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts checking the replicas on a thread of their own, so a replica that is slow to
+     * answer holds up nothing else.
+     */
+    public synchronized void startChecks(long intervalMillis) {
+        if (checker == null && !replicas.isEmpty()) {
+            checker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "replica-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checker.scheduleWithFixedDelay(this::checkReplicas, 0, Math.max(1, intervalMillis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the checks and closes the replica pools; the primary is closed by its owner.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
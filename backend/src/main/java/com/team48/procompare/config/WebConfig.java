@@ -0,0 +1,35 @@
+package com.team48.procompare.config;
+
+import com.team48.procompare.service.ResourceVersions;
+import com.team48.procompare.service.ResourceVersions.Family;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final ResourceVersions versions;
+    // How long after a write replicas may still lack it: up to the tolerated lag, plus the lag
+    // a replica can build up between checks.
+    private final long replicaDelayMillis;
+
+    public WebConfig(ResourceVersions versions,
+                     @Value("${procompare.datasource.max-replica-lag-seconds:5}") long maxReplicaLagSeconds,
+                     @Value("${procompare.datasource.replica-check-interval-ms:5000}") long replicaCheckIntervalMillis) {
+        this.versions = versions;
+        this.replicaDelayMillis = maxReplicaLagSeconds * 1000 + replicaCheckIntervalMillis;
+    }
+
+    // Conditional GET (ETag / If-None-Match) for the polled read endpoints.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, Family.PLAYERS, replicaDelayMillis))
+            .addPathPatterns("/players", "/players/**");
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, Family.TEAMS, replicaDelayMillis))
+            .addPathPatterns("/teams", "/teams/**");
+        registry.addInterceptor(new ConditionalGetInterceptor(versions, Family.ARTICLES, replicaDelayMillis))
+            .addPathPatterns("/articles", "/articles/**")
+            .excludePathPatterns("/articles/events");
+    }
+}
@@ -1,53 +1,168 @@
 package com.team48.procompare.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
 
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.team48.procompare.model.Article;
+import com.team48.procompare.model.ArticlePage;
 import com.team48.procompare.model.Comment;
 import com.team48.procompare.rowmapper.ArticleRowMapper;
 import com.team48.procompare.rowmapper.CommentRowMapper;
+import com.team48.procompare.service.ArticleFeed;
 import com.team48.procompare.service.ArticleService;
+import com.team48.procompare.service.ArticleVoteBuffer;
+import com.team48.procompare.service.CredibilityIndex;
+import com.team48.procompare.service.QueryMetrics;
+import com.team48.procompare.service.ResourceVersions;
+import com.team48.procompare.service.ResourceVersions.Family;
+import com.team48.procompare.service.TrendingIndex;
 
 @RestController
 @RequestMapping("/articles")
 public class ArticleController {
     private final JdbcTemplate jdbcTemplate;
+    // Same DataSource, but with a fetch size so the driver streams rows instead of buffering them.
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
     private final ArticleService articleService;
+    private final ArticleVoteBuffer voteBuffer;
+    private final CredibilityIndex credibility;
+    private final ArticleFeed feed;
+    private final TrendingIndex trending;
+    private final QueryMetrics queryMetrics;
+    private final ResourceVersions versions;
     private final ArticleRowMapper articleMapper = new ArticleRowMapper();
     private final CommentRowMapper commentMapper = new CommentRowMapper();
     private static final int DOWNVOTE_THRESHOLD = 5;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_TRENDING = 100;
 
-    public ArticleController(JdbcTemplate jdbcTemplate, ArticleService articleService) {
+    public ArticleController(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ArticleService articleService,
+                             ArticleVoteBuffer voteBuffer, CredibilityIndex credibility, ArticleFeed feed,
+                             TrendingIndex trending, QueryMetrics queryMetrics, ResourceVersions versions, @Value("${procompare.articles.stream-fetch-size:500}") int streamFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
+        this.objectMapper = objectMapper;
         this.articleService = articleService;
+        this.voteBuffer = voteBuffer;
+        this.credibility = credibility;
+        this.feed = feed;
+        this.trending = trending;
+        this.queryMetrics = queryMetrics;
+        this.versions = versions;
     }
 
     // List all articles
     @GetMapping
     public List<Article> listArticles() {
         String sql = "SELECT * FROM Articles";
-        return jdbcTemplate.query(sql, articleMapper);
+        List<Article> articles = queryMetrics.list("articles.list", () -> jdbcTemplate.query(sql, articleMapper));
+        articles.forEach(this::addPendingVotes);
+        return articles;
+    }
+
+    // List articles one page at a time, ordered by articleID. Pass an empty cursor for the first page.
+    @GetMapping(params = "cursor")
+    public ArticlePage listArticlesByCursor(@RequestParam String cursor,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int afterID;
+        try {
+            afterID = cursor.isBlank() ? Integer.MIN_VALUE : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+
+        // Fetch one extra row to know whether there is a next page.
+        String sql = "SELECT * FROM Articles WHERE articleID > ? ORDER BY articleID LIMIT ?";
+        List<Article> articles = queryMetrics.list("articles.page",
+            () -> jdbcTemplate.query(sql, articleMapper, afterID, pageSize + 1));
+        ArticlePage page = new ArticlePage();
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            page.setNextCursor(Integer.toString(articles.get(pageSize - 1).getArticleID()));
+        }
+        articles.forEach(this::addPendingVotes);
+        page.setArticles(articles);
+        return page;
+    }
+
+    // Stream every article as newline-delimited JSON, writing each row as it is read.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamArticles() {
+        ObjectWriter writer = objectMapper.writerFor(Article.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return out -> {
+            long[] rows = new long[1];
+            queryMetrics.counted("articles.stream", () -> {
+                streamingJdbcTemplate.query("SELECT * FROM Articles ORDER BY articleID", result -> {
+                    try {
+                        writer.writeValue(out, addPendingVotes(articleMapper.mapRow(result, 0)));
+                        out.write('\n');
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return rows[0];
+            });
+        };
+    }
+
+    // Live article changes as Server-Sent Events, resuming after Last-Event-ID on reconnect.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter articleEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventID) {
+        return feed.subscribe(lastEventID);
+    }
+
+    // The k articles with the most recent activity, most active first (see TrendingIndex).
+    @GetMapping("/trending")
+    public List<Article> trendingArticles(@RequestParam(defaultValue = "10") int k) {
+        List<Integer> ids = trending.top(Math.max(1, Math.min(k, MAX_TRENDING)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Fetch by primary key, then restore the ranking.
+        String sql = "SELECT * FROM Articles WHERE articleID IN ("
+            + ids.stream().map(id -> "?").collect(Collectors.joining(", ")) + ")";
+        List<Article> articles = queryMetrics.list("articles.trending",
+            () -> jdbcTemplate.query(sql, articleMapper, ids.toArray()));
+        articles.sort(Comparator.comparingInt(article -> ids.indexOf(article.getArticleID())));
+        articles.forEach(this::addPendingVotes);
+        return articles;
     }
 
     // Get single article
     @GetMapping("/{id}")
     public Article getArticle(@PathVariable int id) {
         try {
-            return jdbcTemplate.queryForObject(
+            return addPendingVotes(queryMetrics.single("articles.get", () -> jdbcTemplate.queryForObject(
                 "SELECT * FROM Articles WHERE articleID = ?",
-                articleMapper, id);
+                articleMapper, id)));
         } catch (EmptyResultDataAccessException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Article not found", e);
         }
@@ -59,27 +174,30 @@ public class ArticleController {
                               @RequestParam String headlines,
                               @RequestParam String userID) {
         String sql = "INSERT INTO Articles(articleID, headlines, userID, numUpvotes, numDownvotes) VALUES(?, ?, ?, 0, 0)";
-        jdbcTemplate.update(sql, articleID, headlines, userID);
+        queryMetrics.update("articles.insert", () -> jdbcTemplate.update(sql, articleID, headlines, userID));
+        credibility.articleCreated(articleID, userID);
+        trending.articleCreated(articleID);
+        versions.bump(Family.ARTICLES);
+        feed.articleCreated(articleID, headlines, userID);
     }
 
-    // Upvote
+    // Upvote (buffered; written, ranked and pushed to subscribers by the next vote flush)
     @PostMapping("/{id}/upvote")
     public void upvote(@PathVariable int id) {
-        String sql = "UPDATE Articles SET numUpvotes = numUpvotes + 1 WHERE articleID = ?";
-        jdbcTemplate.update(sql, id);
+        voteBuffer.recordUpvote(id);
     }
 
-    // Downvote (and delete if threshold reached)
+    // Downvote (buffered like upvotes; delete if persisted + pending downvotes reach the threshold)
     @PostMapping("/{id}/downvote")
     public void downvote(@PathVariable int id) {
-        String sqlInc = "UPDATE Articles SET numDownvotes = numDownvotes + 1 WHERE articleID = ?";
-        jdbcTemplate.update(sqlInc, id);
-
-        Integer downs = jdbcTemplate.queryForObject(
-            "SELECT numDownvotes FROM Articles WHERE articleID = ?",
-            Integer.class, id);
-        if (downs != null && downs >= DOWNVOTE_THRESHOLD) {
-            jdbcTemplate.update("DELETE FROM Articles WHERE articleID = ?", id);
+        int downs = voteBuffer.recordDownvote(id);
+        if (downs >= DOWNVOTE_THRESHOLD) {
+            voteBuffer.discard(id);
+            queryMetrics.update("articles.delete", () -> jdbcTemplate.update("DELETE FROM Articles WHERE articleID = ?", id));
+            credibility.articleDeleted(id);
+            trending.articleDeleted(id);
+            versions.bump(Family.ARTICLES);
+            feed.articleDeleted(id);
         }
     }
 
@@ -87,7 +205,7 @@ public class ArticleController {
     @GetMapping("/{id}/comments")
     public List<Comment> listComments(@PathVariable int id) {
         String sql = "SELECT * FROM Comments WHERE articleID = ?";
-        return jdbcTemplate.query(sql, commentMapper, id);
+        return queryMetrics.list("comments.list", () -> jdbcTemplate.query(sql, commentMapper, id));
     }
 
     // Add a comment
@@ -97,7 +215,11 @@ public class ArticleController {
                            @RequestParam String userID,
                            @RequestParam String text) {
         String sql = "INSERT INTO Comments(commentID, articleID, userID, text) VALUES(?, ?, ?, ?)";
-        jdbcTemplate.update(sql, commentID, id, userID, text);
+        queryMetrics.update("comments.insert", () -> jdbcTemplate.update(sql, commentID, id, userID, text));
+        credibility.commentAdded(id);
+        trending.commentAdded(id);
+        versions.bump(Family.ARTICLES);
+        feed.commentAdded(id, commentID, userID, text);
     }
 
     // Delete a comment (only author)
@@ -106,17 +228,22 @@ public class ArticleController {
                               @PathVariable int commentId,
                               @RequestParam String userID) {
         // Check ownership
-        String ownerSql = "SELECT userID FROM Comments WHERE commentID = ?";
-        String owner;
+        String ownerSql = "SELECT * FROM Comments WHERE commentID = ?";
+        Comment comment;
         try {
-            owner = jdbcTemplate.queryForObject(ownerSql, String.class, commentId);
+            comment = queryMetrics.single("comments.get", () -> jdbcTemplate.queryForObject(ownerSql, commentMapper, commentId));
         } catch (EmptyResultDataAccessException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Comment not found", e);
         }
-        if (!owner.equals(userID)) {
+        if (!comment.getUserID().equals(userID)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot delete others' comments");
         }
-        jdbcTemplate.update("DELETE FROM Comments WHERE commentID = ?", commentId);
+        if (queryMetrics.update("comments.delete",
+                () -> jdbcTemplate.update("DELETE FROM Comments WHERE commentID = ?", commentId)) > 0) {
+            credibility.commentRemoved(comment.getArticleID());
+            versions.bump(Family.ARTICLES);
+            feed.commentDeleted(comment.getArticleID(), commentId);
+        }
     }
 
     @PostMapping("/articles/with-news")
@@ -130,6 +257,14 @@ public class ArticleController {
         articleService.createArticleAndLinkIfCredible(
             username, articleID, headline, userID, playerID
         );
+        versions.bump(Family.ARTICLES);
+    }
+
+    // Vote counts in the database lag the buffer by up to one flush interval.
+    private Article addPendingVotes(Article article) {
+        article.setNumUpvotes(article.getNumUpvotes() + voteBuffer.pendingUpvotes(article.getArticleID()));
+        article.setNumDownvotes(article.getNumDownvotes() + voteBuffer.pendingDownvotes(article.getArticleID()));
+        return article;
     }
 
 }
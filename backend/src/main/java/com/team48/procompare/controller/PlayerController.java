@@ -1,53 +1,42 @@
 package com.team48.procompare.controller;
 import com.team48.procompare.model.Player;
+import com.team48.procompare.model.PlayerComparison;
+import com.team48.procompare.model.PlayerPage;
 import com.team48.procompare.model.PositionEnum;
+import com.team48.procompare.model.SimilarPlayer;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.PlayerColumn;
+import com.team48.procompare.service.PlayerCursor;
+import com.team48.procompare.service.PlayerSnapshot;
+import com.team48.procompare.service.SimilarityIndex;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.dao.EmptyResultDataAccessException;
 
 @RestController
 public class PlayerController {
-    private final JdbcTemplate jdbcTemplate;
-
-    RowMapper<Player> rowMapper = (result, rowNum) -> {
-        Player player = new Player();
-        player.setPlayerID(result.getString("playerID"));
-        player.setPlayerName(result.getString("playerName"));
-        player.setPlayerAge(result.getInt("playerAge"));
-        player.setTeamId(result.getInt("teamID"));
-        player.setTeamName(result.getString("teamName"));
-        player.setScore(result.getFloat("score"));
-        player.setNumSeasons(result.getInt("numSeasons"));
-        player.setNumGames(result.getInt("numGames"));
-
-        // Set the average stats for the player based on their position.
-        String position = (result.getString("position"));
-        player.setPosition(position);
-        List<String> statNames = PositionEnum.valueOf(position).getStats();
-        Map<String, Object> stats = new HashMap<>();
-        // Add "avg" to beginning of statname, this corresponds to the SQL query below.
-        for(String statName : statNames) {
-            stats.put("avg" + statName, result.getObject("avg" + statName));
-        }
-        player.setStats(stats);
-        return player;
-    };
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_COMPARE = 25;
+    private static final int MAX_SIMILAR = 100;
+
+    private final PlayerAggregateStore playerStore;
 
-    public PlayerController(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public PlayerController(PlayerAggregateStore playerStore) {
+        this.playerStore = playerStore;
     }
 
     /**
      * Lists and sorts players given request parameters. Paginates results with pageSize 50.
+     * Served from the in-memory player aggregate rather than a GROUP BY per request.
      *
      * @param page The page number to retrieve (default is 1) as a request parameter.
      * @param orderBy The column to order by as a request parameter.
@@ -64,78 +53,158 @@ public class PlayerController {
                                     @RequestParam(required = false) String name,
                                     @RequestParam(required = false) String team,
                                     @RequestParam(required = false) String position) {
-        int pageSize = 50;
-        int offset = pageSize * (page - 1);
-
-        // Displays all avg stats for the players, even irrelevant ones.
-        // Add "avg" to stat name, e.g. avgpassYds (no capitalization).
-        // These will be parsed properly in the response, see the rowMapper code.
-
-        StringBuilder sqlBuilder = new StringBuilder(
-            """
-            SELECT p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score,
-                   COUNT(s.year) AS numSeasons, SUM(s.games) AS numGames,
-                   AVG(s.passYds) AS avgpassYds, AVG(s.passTDs) AS avgpassTDs, AVG(s.ints) AS avgints, AVG(s.compPct) AS avgcompPct,
-                   AVG(s.rshAtt) AS avgrshAtt, AVG(s.rshYds) AS avgrshYds, AVG(s.rshTDs) AS avgrshTDs,
-                   AVG(s.rec) AS avgrec, AVG(s.recYds) AS avgrecYds, AVG(s.recTDs) AS avgrecTDs
-            FROM Player p
-            JOIN Statistics s USING(playerID)
-            JOIN Team t USING(teamID)
-            WHERE 1=1
-            """);
-
-
-
-        if (name != null && !name.isBlank()) {
-            sqlBuilder.append(" AND p.playerName LIKE '%").append(name).append("%'");
-        }
-        if (team != null && !team.isBlank()) {
-            sqlBuilder.append(" AND t.teamName LIKE '%").append(team).append("%'");
-        }
-        if (position != null && !position.isBlank()) {
-            sqlBuilder.append(" AND p.position = '").append(position).append("'");
+        int offset = PAGE_SIZE * (page - 1);
+        if (offset < 0 || !isKnownPosition(position)) {
+            return List.of();
         }
-        sqlBuilder.append(" GROUP BY p.playerID");
-        String orderClause;
-        if (orderBy != null && !orderBy.isBlank()) {
-            if (orderByDir != null && orderByDir.equals("ASC")) {
-                orderClause = " ORDER BY " + orderBy + " ASC";
-            } else {
-                orderClause = " ORDER BY " + orderBy + " DESC";
+        PlayerSnapshot players = playerStore.snapshot();
+        return players.list(resolveOrderBy(orderBy), isAscending(orderBy, orderByDir), players.filter(name, team),
+                            parsePosition(position), offset, PAGE_SIZE);
+    }
+
+    /**
+     * Lists players in cursor mode. Pass an empty cursor for the first page and the returned
+     * nextCursor for each following page; each page seeks directly to where the last one ended,
+     * so deep pages cost the same as the first. Filters and ordering are the same as listPlayers.
+     *
+     * @param cursor The nextCursor of the previous page, or empty for the first page.
+     * @return The page of players and the cursor of the next page (null on the last page).
+     */
+    @GetMapping(value = "/players", params = "cursor")
+    public PlayerPage listPlayersByCursor(@RequestParam String cursor,
+                                          @RequestParam(required = false) String orderBy,
+                                          @RequestParam(required = false) String orderByDir,
+                                          @RequestParam(required = false) String name,
+                                          @RequestParam(required = false) String team,
+                                          @RequestParam(required = false) String position) {
+        PlayerColumn column = resolveOrderBy(orderBy);
+        boolean ascending = isAscending(orderBy, orderByDir);
+
+        PlayerCursor after = null;
+        if (!cursor.isBlank()) {
+            try {
+                after = PlayerCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+            }
+            if (after.getColumn() != column || after.isAscending() != ascending) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match orderBy");
             }
-        } else {
-            orderClause = " ORDER BY p.score DESC";
         }
-        sqlBuilder.append(orderClause);
-        sqlBuilder.append(" LIMIT ? OFFSET ?");
 
-        String sql = sqlBuilder.toString();
+        if (!isKnownPosition(position)) {
+            PlayerPage empty = new PlayerPage();
+            empty.setPlayers(List.of());
+            return empty;
+        }
+        PlayerSnapshot players = playerStore.snapshot();
+        return players.seek(column, ascending, players.filter(name, team), parsePosition(position), after, PAGE_SIZE);
+    }
 
-        try {
-            return jdbcTemplate.query(sql, rowMapper, pageSize, offset);
-        } catch (EmptyResultDataAccessException e) {
-            // Just return an empty list.
-            return List.of();
+    /**
+     * Compares players side by side: each player with the percentile rank (0-100) of each of
+     * their stats among all players at their position. Ranks are binary searches over sorted
+     * per-position values, rebuilt whenever the player aggregate refreshes.
+     *
+     * @param ids Comma-separated player IDs as a request parameter, at most 25.
+     * @return One entry per distinct player ID, in request order.
+     * @throws ResponseStatusException 404 if a player is not found, 400 for too many IDs.
+     */
+    @GetMapping("/players/compare")
+    public List<PlayerComparison> comparePlayers(@RequestParam List<String> ids) {
+        List<String> playerIDs = ids.stream().map(String::trim).filter(id -> !id.isEmpty()).distinct().toList();
+        if (playerIDs.size() > MAX_COMPARE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_COMPARE + " players per comparison");
+        }
+        PlayerSnapshot snapshot = playerStore.snapshot();
+        List<PlayerComparison> comparisons = new ArrayList<>(playerIDs.size());
+        for (String playerID : playerIDs) {
+            int index = snapshot.indexOf(playerID);
+            if (index < 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Player not found: " + playerID);
+            }
+            PlayerComparison comparison = new PlayerComparison();
+            comparison.setPlayer(snapshot.toPlayer(index));
+            comparison.setPercentiles(snapshot.percentiles(index));
+            comparisons.add(comparison);
         }
+        return comparisons;
     }
 
     /**
-     * Retrieves a single player by their playerID.
+     * Retrieves a single player by their playerID from the in-memory player aggregate, so the
+     * response always matches the snapshot (and ETag) current when the request ran.
      *
      * @param playerID The ID of the player to retrieve as a path variable.
      * @return The Player object if found.
+     * @throws EmptyResultDataAccessException if no player is found. Handled by GlobalExceptionHandler.
      */
     @GetMapping("/players/{playerID}")
     public Player getPlayer(@PathVariable String playerID) {
-        String sql = """
-            SELECT p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score, COUNT(s.year) AS numSeasons, SUM(s.games) AS numGames,
-            AVG(s.passYds) AS avgpassYds, AVG(s.passTDs) AS avgpassTDs, AVG(s.ints) AS avgints, AVG(s.compPct) AS avgcompPct,
-            AVG(s.rshAtt) AS avgrshAtt, AVG(s.rshYds) AS avgrshYds, AVG(s.rshTDs) AS avgrshTDs, AVG(s.rec) AS avgrec,\s
-            AVG(s.recYds) AS avgrecYds, AVG(s.recTDs) AS avgrecTDs
-            FROM Player p JOIN Statistics s USING(playerID) JOIN Team t USING(teamID)
-            WHERE p.playerID = ?
-            GROUP BY p.playerID
-            """;
-        return jdbcTemplate.queryForObject(sql, rowMapper, playerID);
+        PlayerSnapshot snapshot = playerStore.snapshot();
+        int index = snapshot.indexOf(playerID);
+        if (index < 0) {
+            throw new EmptyResultDataAccessException(1);
+        }
+        return snapshot.toPlayer(index);
+    }
+
+    /**
+     * Finds the players at the same position with the most similar career stats, comparing
+     * the stats of the position after scaling each to z-scores across the position.
+     *
+     * @param playerID The ID of the player to match as a path variable.
+     * @param k The number of similar players to return as a request parameter (default 10, at most 100).
+     * @return Up to k players, most similar first.
+     * @throws EmptyResultDataAccessException if no player is found. Handled by GlobalExceptionHandler.
+     */
+    @GetMapping("/players/{playerID}/similar")
+    public List<SimilarPlayer> getSimilarPlayers(@PathVariable String playerID, @RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > MAX_SIMILAR) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k must be between 1 and " + MAX_SIMILAR);
+        }
+        PlayerSnapshot snapshot = playerStore.snapshot();
+        int index = snapshot.indexOf(playerID);
+        if (index < 0) {
+            throw new EmptyResultDataAccessException(1);
+        }
+        List<SimilarityIndex.Neighbour> neighbours = snapshot.similarityIndex().nearest(index, k);
+        List<SimilarPlayer> similar = new ArrayList<>(neighbours.size());
+        for (SimilarityIndex.Neighbour neighbour : neighbours) {
+            SimilarPlayer player = new SimilarPlayer();
+            player.setPlayer(snapshot.toPlayer(neighbour.getSlot()));
+            player.setDistance(neighbour.getDistance());
+            similar.add(player);
+        }
+        return similar;
+    }
+
+    // Defaults to score when no orderBy is given.
+    private static PlayerColumn resolveOrderBy(String orderBy) {
+        if (orderBy == null || orderBy.isBlank()) {
+            return PlayerColumn.SCORE;
+        }
+        PlayerColumn column = PlayerColumn.fromOrderBy(orderBy);
+        if (column == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot order by " + orderBy);
+        }
+        return column;
+    }
+
+    // Anything but an explicit "ASC" sorts descending, as before.
+    private static boolean isAscending(String orderBy, String orderByDir) {
+        return orderBy != null && !orderBy.isBlank() && "ASC".equals(orderByDir);
+    }
+
+    // An unknown position matches no player.
+    private static boolean isKnownPosition(String position) {
+        return position == null || position.isBlank() || parsePosition(position) != null;
+    }
+
+    private static PositionEnum parsePosition(String position) {
+        if (position == null || position.isBlank()) {
+            return null;
+        }
+        return PositionEnum.fromCode(position.trim().toUpperCase(Locale.ROOT));
     }
 }
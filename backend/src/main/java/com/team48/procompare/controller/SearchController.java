@@ -0,0 +1,52 @@
+package com.team48.procompare.controller;
+
+import com.team48.procompare.model.Player;
+import com.team48.procompare.model.SearchSuggestions;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.PlayerSnapshot;
+import com.team48.procompare.service.TeamIndex;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+public class SearchController {
+    private static final int MAX_LIMIT = 50;
+
+    private final PlayerAggregateStore playerStore;
+    private final TeamIndex teamIndex;
+
+    public SearchController(PlayerAggregateStore playerStore, TeamIndex teamIndex) {
+        this.playerStore = playerStore;
+        this.teamIndex = teamIndex;
+    }
+
+    /**
+     * Autocompletes player and team names. A name matches when any of its words, or the whole
+     * name, starts with the query; case and accents are ignored.
+     *
+     * @param q The text typed so far as a request parameter.
+     * @param limit The maximum number of players and of teams to return (default 10, at most 50).
+     * @return The highest scoring matching players and the strongest matching teams.
+     */
+    @GetMapping("/search/autocomplete")
+    public SearchSuggestions autocomplete(@RequestParam String q,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        int cappedLimit = Math.max(0, Math.min(limit, MAX_LIMIT));
+
+        PlayerSnapshot snapshot = playerStore.snapshot();
+        int[] slots = snapshot.nameIndex().topByPrefix(q, cappedLimit);
+        List<Player> players = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            players.add(snapshot.toPlayer(slot));
+        }
+
+        SearchSuggestions suggestions = new SearchSuggestions();
+        suggestions.setPlayers(players);
+        suggestions.setTeams(teamIndex.topByPrefix(q, cappedLimit));
+        return suggestions;
+    }
+}
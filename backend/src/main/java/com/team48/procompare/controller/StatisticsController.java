@@ -0,0 +1,67 @@
+package com.team48.procompare.controller;
+
+import com.team48.procompare.exception.ImportInProgressException;
+import com.team48.procompare.exception.InvalidImportHeaderException;
+import com.team48.procompare.model.ImportReport;
+import com.team48.procompare.service.ScoringEngine;
+import com.team48.procompare.service.StatisticsImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class StatisticsController {
+    private final StatisticsImporter importer;
+    private final ScoringEngine scoringEngine;
+    private final boolean enabled;
+
+    public StatisticsController(StatisticsImporter importer, ScoringEngine scoringEngine,
+                                @Value("${procompare.ingest.enabled:false}") boolean enabled) {
+        this.importer = importer;
+        this.scoringEngine = scoringEngine;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Imports season Statistics rows from a CSV request body, streamed rather than buffered, e.g.
+     * {@code curl --data-binary @stats.csv -H "Content-Type: text/csv" .../statistics/import}.
+     * Rows are upserted on (playerID, year); bad rows are skipped and reported. Only available
+     * when procompare.ingest.enabled is set.
+     *
+     * @param csv The request body: a header line, then one row per player season.
+     * @return Rows read, written and rejected, the first rejection reasons, and throughput.
+     * @throws ResponseStatusException 404 when disabled, 400 for a bad header, 409 while another import runs.
+     */
+    @PostMapping(value = "/statistics/import", consumes = {"text/csv", "text/plain"})
+    public ImportReport importStatistics(InputStream csv) throws IOException {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        try {
+            return importer.importCsv(csv);
+        } catch (ImportInProgressException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (InvalidImportHeaderException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recomputes every Player.score and Team.teamStrength from the current Statistics, e.g. after
+     * loading data outside the application. Only available when procompare.ingest.enabled is set.
+     *
+     * @return The number of player and team rows written.
+     */
+    @PostMapping("/statistics/scores/rebuild")
+    public int rebuildScores() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return scoringEngine.rebuild();
+    }
+}
@@ -1,99 +1,118 @@
 package com.team48.procompare.controller;
 
+import com.team48.procompare.model.PositionEnum;
 import com.team48.procompare.model.Team;
 
 import java.util.List;
 
-import com.team48.procompare.rowmapper.PlayerRowMapper;
-import com.team48.procompare.rowmapper.TeamRowMapper;
+import com.team48.procompare.service.NameIndex;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.PlayerSnapshot;
+import com.team48.procompare.service.ResourceVersions;
+import com.team48.procompare.service.ResourceVersions.Family;
+import com.team48.procompare.service.SerializedResponseCache;
+import com.team48.procompare.service.TeamColumn;
+import com.team48.procompare.service.TeamIndex;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 public class TeamController {
-    private final JdbcTemplate jdbcTemplate;
+    private final PlayerAggregateStore playerStore;
+    private final TeamIndex teamIndex;
+    private final SerializedResponseCache responseCache;
+    private final ResourceVersions versions;
 
-    public TeamController(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public TeamController(PlayerAggregateStore playerStore, TeamIndex teamIndex,
+                          SerializedResponseCache responseCache, ResourceVersions versions) {
+        this.playerStore = playerStore;
+        this.teamIndex = teamIndex;
+        this.responseCache = responseCache;
+        this.versions = versions;
     }
 
     /**
-     * Lists and sorts teams given request parameters.
+     * Lists and sorts teams given request parameters, from the in-memory {@link TeamIndex}.
+     * Responses are kept serialized (and gzipped for clients that accept it) until the team
+     * data next changes.
      *
-     * @return List of Team objects that match criteria.
-     * @throws EmptyResultDataAccessException if no team is found. Handled by GlobalExceptionHandler.
+     * @param name Substring of the team name to filter by as a request parameter.
+     * @param orderBy The column to order by (teamID, teamName or teamStrength) as a request parameter.
+     * @param orderByDir The direction to order by (ASC or DESC) as a request parameter.
+     * @return JSON list of Team objects that match criteria.
      */
     @GetMapping("/teams")
-    public List<Team> listTeams(@RequestParam(required = false) String name,
-                                @RequestParam(required = false) String orderBy,
-                                @RequestParam(required = false) String orderByDir) {
-        StringBuilder sqlBuilder = new StringBuilder("""
-            SELECT *
-            FROM Team
-            WHERE 1=1
-            """);
+    public ResponseEntity<byte[]> listTeams(@RequestParam(required = false) String name,
+                                            @RequestParam(required = false) String orderBy,
+                                            @RequestParam(required = false) String orderByDir,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                            String acceptEncoding) {
+        TeamColumn column = resolveOrderBy(orderBy);
+        boolean ascending = isAscending(orderBy, orderByDir);
+        // Name matching ignores case and accents, so spellings that differ only in those share an entry.
+        String normalizedName = name == null ? "" : NameIndex.normalize(name);
+        String key = "teams?" + column + (ascending ? ",asc" : ",desc") + "&name=" + normalizedName;
+        return responseCache.respond(key, versions.etag(Family.TEAMS), acceptEncoding,
+                                     () -> queryTeams(column, ascending, normalizedName));
+    }
 
-        if (name != null && !name.isBlank()) {
-            sqlBuilder.append(" AND teamName LIKE '%").append(name).append("%'");
-        }
-        String orderClause;
-        if (orderBy != null && !orderBy.isBlank()) {
-            if (orderByDir != null && orderByDir.equals("ASC")) {
-                orderClause = " ORDER BY " + orderBy + " ASC";
-            } else {
-                orderClause = " ORDER BY " + orderBy + " DESC";
-            }
-        } else {
-            orderClause = " ORDER BY teamStrength DESC";
-        }
-        sqlBuilder.append(orderClause);
-        String sql = sqlBuilder.toString();
-        return jdbcTemplate.query(sql, new TeamRowMapper());
+    /**
+     * Builds the team listing.
+     *
+     * @param name Substring of the team name to filter by; blank for all teams.
+     */
+    public List<Team> queryTeams(TeamColumn column, boolean ascending, String name) {
+        return teamIndex.list(column, ascending, name);
     }
 
     /**
-     * Gets a team by its ID.
+     * Gets a team by its ID, with its best player at each position. The team row comes from the
+     * team index and the top players from the pre-ranked player aggregate, so this never reaches
+     * the database.
      *
      * @param teamID The ID of the team to retrieve as a path variable.
-     * @return The Team object with the specified ID.
+     * @return The Team object with the specified ID. A position the team has no player at is null.
      * @throws EmptyResultDataAccessException if no team is found. Handled by GlobalExceptionHandler.
      */
     @GetMapping("/teams/{teamID}")
     public Team getTeam(@PathVariable int teamID) {
-        String sql = """
-            SELECT *
-            FROM Team
-            WHERE Team.teamID = ?
-            """;
-        Team team = jdbcTemplate.queryForObject(sql, new TeamRowMapper(), teamID);
-
-//      // Get best player in each position for the team.
-        String playerSql = """
-            SELECT p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score, COUNT(s.year) AS numSeasons, SUM(s.games) AS numGames,
-            AVG(s.passYds) AS avgpassYds, AVG(s.passTDs) AS avgpassTDs, AVG(s.ints) AS avgints, AVG(s.compPct) AS avgcompPct,
-            AVG(s.rshAtt) AS avgrshAtt, AVG(s.rshYds) AS avgrshYds, AVG(s.rshTDs) AS avgrshTDs, AVG(s.rec) AS avgrec,\s
-            AVG(s.recYds) AS avgrecYds, AVG(s.recTDs) AS avgrecTDs
-            FROM Player p JOIN Statistics s USING(playerID) JOIN Team t USING(teamID)
-            WHERE t.teamID = ? AND p.position = ? AND p.score IN (
-                SELECT MAX(p2.score)
-                FROM Player AS p2
-                WHERE p2.position = ?
-                GROUP BY p2.teamID
-            )
-            GROUP BY p.playerID
-            LIMIT 1
-            """;
+        Team team = teamIndex.find(teamID);
+        if (team == null) {
+            throw new EmptyResultDataAccessException(1);
+        }
 
-        team.setTopQB(jdbcTemplate.queryForObject(playerSql, new PlayerRowMapper(), teamID, "QB", "QB"));
-        team.setTopRB(jdbcTemplate.queryForObject(playerSql, new PlayerRowMapper(), teamID, "RB", "RB"));
-        team.setTopWR(jdbcTemplate.queryForObject(playerSql, new PlayerRowMapper(), teamID, "WR", "WR"));
-        team.setTopTE(jdbcTemplate.queryForObject(playerSql, new PlayerRowMapper(), teamID, "TE", "TE"));
+        // Get best player in each position for the team from the player aggregate.
+        PlayerSnapshot players = playerStore.snapshot();
+        team.setTopQB(players.topPlayer(teamID, PositionEnum.QB));
+        team.setTopRB(players.topPlayer(teamID, PositionEnum.RB));
+        team.setTopWR(players.topPlayer(teamID, PositionEnum.WR));
+        team.setTopTE(players.topPlayer(teamID, PositionEnum.TE));
 
         return team;
     }
 
+    // Defaults to teamStrength when no orderBy is given.
+    private static TeamColumn resolveOrderBy(String orderBy) {
+        if (orderBy == null || orderBy.isBlank()) {
+            return TeamColumn.TEAM_STRENGTH;
+        }
+        TeamColumn column = TeamColumn.fromOrderBy(orderBy);
+        if (column == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot order by " + orderBy);
+        }
+        return column;
+    }
+
+    // Anything but an explicit "ASC" sorts descending, as before.
+    private static boolean isAscending(String orderBy, String orderByDir) {
+        return orderBy != null && !orderBy.isBlank() && "ASC".equals(orderByDir);
+    }
 }
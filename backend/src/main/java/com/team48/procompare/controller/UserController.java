@@ -1,43 +1,50 @@
 package com.team48.procompare.controller;
 
+import com.team48.procompare.model.FavoriteResult;
 import com.team48.procompare.model.FavoriteSummary;
 import com.team48.procompare.model.Player;
 import com.team48.procompare.model.User;
 
-import com.team48.procompare.rowmapper.PlayerRowMapper;
+import com.team48.procompare.service.FavoriteService;
+import com.team48.procompare.service.FavoriteTierIndex;
+import com.team48.procompare.service.PlayerAggregateStore;
+import com.team48.procompare.service.PlayerSnapshot;
+import com.team48.procompare.service.QueryMetrics;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 public class UserController {
+    private static final int MAX_BULK_FAVORITES = 1000;
+
     private final JdbcTemplate jdbcTemplate;
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PlayerAggregateStore playerStore;
+    private final QueryMetrics queryMetrics;
+    private final FavoriteService favoriteService;
+    private final FavoriteTierIndex favoriteTierIndex;
 
-    public UserController(JdbcTemplate jdbcTemplate) {
+    public UserController(JdbcTemplate jdbcTemplate, PlayerAggregateStore playerStore, QueryMetrics queryMetrics,
+                          FavoriteService favoriteService, FavoriteTierIndex favoriteTierIndex) {
         this.jdbcTemplate = jdbcTemplate;
-        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.playerStore = playerStore;
+        this.queryMetrics = queryMetrics;
+        this.favoriteService = favoriteService;
+        this.favoriteTierIndex = favoriteTierIndex;
     }
 
-    private final RowMapper<FavoriteSummary> favoriteSummaryRowMapper = (result, rowNum) -> {
-        FavoriteSummary summary = new FavoriteSummary();
-        summary.setTier(result.getString("tier"));
-        summary.setCount(result.getInt("Count"));
-        return summary;
-    };
-
     /**
-     * Gets a single user and their favorite players.
+     * Gets a single user and their favorite players. Favorite IDs come from the per-user
+     * favorites cache and details from the in-memory player aggregate, so a cached user
+     * needs no database round trip.
      *
      * @param username The username of the user to retrieve as a path variable.
      * @return The specified user.
@@ -45,45 +52,25 @@ public class UserController {
      */
     @GetMapping("/users/{username}")
     public User getUser(@PathVariable String username) {
-         //Find the user
-         String userSql = "SELECT username FROM Users WHERE username = ?";
-         User user;
+         //Find the user and the list of favorite player IDs for the user
+         List<String> favoritePlayerIDs;
          try {
-             user = jdbcTemplate.queryForObject(userSql, (rs, rowNum) -> {
-                 User u = new User();
-                 u.setUsername(rs.getString("username"));
-                 return u;
-             }, username);
+             favoritePlayerIDs = favoriteService.favoriteIDs(username);
          } catch (EmptyResultDataAccessException e) {
              throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found", e);
          }
+         User user = new User();
+         user.setUsername(username);
  
-         //Get the list of favorite player IDs for the user
-         String favoriteIdsSql = "SELECT playerID FROM Favorites WHERE username = ?";
-         List<String> favoritePlayerIDs = jdbcTemplate.queryForList(favoriteIdsSql, String.class, username);
- 
-         List<Player> favoritePlayers = new ArrayList<>();
-         if (!favoritePlayerIDs.isEmpty()) {
-             //Fetch details for only the favorited players
-            String fullFavoritesSql =
-             """
-            SELECT p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score,
-                   COUNT(s.year) AS numSeasons, SUM(s.games) AS numGames,
-                   AVG(s.passYds) AS avgpassYds, AVG(s.passTDs) AS avgpassTDs, AVG(s.ints) AS avgints, AVG(s.compPct) AS avgcompPct,
-                   AVG(s.rshAtt) AS avgrshAtt, AVG(s.rshYds) AS avgrshYds, AVG(s.rshTDs) AS avgrshTDs,
-                   AVG(s.rec) AS avgrec, AVG(s.recYds) AS avgrecYds, AVG(s.recTDs) AS avgrecTDs
-            FROM Player p
-            JOIN Statistics s USING(playerID)
-            JOIN Team t USING(teamID)
-            WHERE p.playerID IN (:playerIDs)
-            GROUP BY p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score
-            """;
- 
-             MapSqlParameterSource parameters = new MapSqlParameterSource();
-             parameters.addValue("playerIDs", favoritePlayerIDs);
- 
-             
-             favoritePlayers = namedParameterJdbcTemplate.query(fullFavoritesSql, parameters, new PlayerRowMapper());
+         // Fetch details for only the favorited players from the player aggregate.
+         // Favorites without any statistics are skipped, as the old inner join did.
+         PlayerSnapshot players = playerStore.snapshot();
+         List<Player> favoritePlayers = new ArrayList<>(favoritePlayerIDs.size());
+         for (String favoritePlayerID : favoritePlayerIDs) {
+             int index = players.indexOf(favoritePlayerID);
+             if (index >= 0) {
+                 favoritePlayers.add(players.toPlayer(index));
+             }
          }
  
          // set the list favorite players
@@ -102,7 +89,7 @@ public class UserController {
 
         String sql = "INSERT INTO Users (username) VALUES (?)";
         try {
-            jdbcTemplate.update(sql, username);
+            queryMetrics.update("user.insert", () -> jdbcTemplate.update(sql, username));
         } catch (DuplicateKeyException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User already exists", e);
         }
@@ -116,10 +103,11 @@ public class UserController {
     @DeleteMapping("/users/{username}")
     public void deleteUser(@PathVariable String username) {
         String sqlFavorites = "DELETE FROM Favorites WHERE username = ?";
-        jdbcTemplate.update(sqlFavorites, username);
+        queryMetrics.update("user.favorites.deleteAll", () -> jdbcTemplate.update(sqlFavorites, username));
 
         String sqlUser = "DELETE FROM Users WHERE username = ?";
-        jdbcTemplate.update(sqlUser, username);
+        queryMetrics.update("user.delete", () -> jdbcTemplate.update(sqlUser, username));
+        favoriteService.userDeleted(username);
     }
 
     /**
@@ -133,7 +121,8 @@ public class UserController {
         String sql = "INSERT INTO Favorites (username, playerID) VALUES (?, ?)";
         try { 
             
-             jdbcTemplate.update(sql, username, playerID);
+             queryMetrics.update("user.favorites.insert", () -> jdbcTemplate.update(sql, username, playerID));
+             favoriteService.favoritesChanged(username, List.of(playerID), List.of());
 
         } catch (DuplicateKeyException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User already in favorites.", e);
@@ -151,20 +140,62 @@ public class UserController {
     @DeleteMapping("/users/{username}/favorites/{playerID}")
     public void deleteFavorite(@PathVariable String username, @PathVariable String playerID) {
         String sql = "DELETE FROM Favorites WHERE username = ? AND playerID = ?";
-        jdbcTemplate.update(sql, username, playerID);
+        if (queryMetrics.update("user.favorites.delete", () -> jdbcTemplate.update(sql, username, playerID)) > 0) {
+            favoriteService.favoritesChanged(username, List.of(), List.of(playerID));
+        }
+    }
+
+    /**
+     * Adds many players to a user's favorites in one transaction.
+     *
+     * @param username The username of the user to add the players to as a path variable.
+     * @param playerIDs JSON array of the player IDs to add as the request body.
+     * @return The result for each distinct player ID: ADDED, ALREADY_FAVORITE or UNKNOWN_PLAYER.
+     * @throws EmptyResultDataAccessException if no user is found. Handled by GlobalExceptionHandler.
+     */
+    @PostMapping("/users/{username}/favorites/bulk")
+    public List<FavoriteResult> addFavorites(@PathVariable String username, @RequestBody List<String> playerIDs) {
+        checkBulkSize(playerIDs);
+        return favoriteService.addFavorites(username, playerIDs);
     }
 
     /**
-     * Gets a user's favorites summary based on position and stat.
+     * Removes many players from a user's favorites in one transaction.
+     *
+     * @param username The username of the user to remove the players from as a path variable.
+     * @param playerIDs JSON array of the player IDs to remove as the request body.
+     * @return The result for each distinct player ID: REMOVED or NOT_FAVORITE.
+     * @throws EmptyResultDataAccessException if no user is found. Handled by GlobalExceptionHandler.
+     */
+    @PostMapping("/users/{username}/favorites/bulk-remove")
+    public List<FavoriteResult> removeFavorites(@PathVariable String username, @RequestBody List<String> playerIDs) {
+        checkBulkSize(playerIDs);
+        return favoriteService.removeFavorites(username, playerIDs);
+    }
+
+    /**
+     * Gets a user's favorites summary based on position and stat: how many of their favorites at
+     * the position are in the High, Mid and Low tier of the stat. Computed in memory from
+     * per-position stat tiers, without a database call once the user's favorites are cached.
      *
      * @param username The username of the user to retrieve as a path variable.
      * @param position The position to filter by as a request parameter.
      * @param stat The stat to filter by as a request parameter.
+     * @return The tiers with at least one favorite; empty for an unknown position or stat.
+     * @throws EmptyResultDataAccessException if no user is found. Handled by GlobalExceptionHandler.
      */
     @GetMapping("/users/{username}/favorites/summary")
     public List<FavoriteSummary> getFavoriteSummary(@PathVariable String username, @RequestParam String position, @RequestParam String stat) {
-        String sql = "CALL GetFavoriteSummary(?, ?, ?)";
-        return jdbcTemplate.query(sql, favoriteSummaryRowMapper, position, stat, username);
+        return favoriteTierIndex.summary(username, position.trim().toUpperCase(Locale.ROOT), stat);
     }
 
-}
\ No newline at end of file
+    private static void checkBulkSize(List<String> playerIDs) {
+        if (playerIDs.size() > MAX_BULK_FAVORITES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + MAX_BULK_FAVORITES + " players per request");
+        }
+        if (playerIDs.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Player IDs must not be null");
+        }
+    }
+}
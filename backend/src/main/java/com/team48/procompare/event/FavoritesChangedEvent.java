@@ -0,0 +1,45 @@
+package com.team48.procompare.event;
+
+import java.util.List;
+
+/**
+ * Published after writes to a user's Favorites rows have been committed.
+ */
+public class FavoritesChangedEvent {
+    private final String username;
+    private final List<String> added;
+    private final List<String> removed;
+    private final boolean userDeleted;
+
+    public FavoritesChangedEvent(String username, List<String> added, List<String> removed, boolean userDeleted) {
+        this.username = username;
+        this.added = added;
+        this.removed = removed;
+        this.userDeleted = userDeleted;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return Player IDs that became favorites.
+     */
+    public List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return Player IDs that stopped being favorites.
+     */
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return Whether the user and all their favorites were deleted.
+     */
+    public boolean isUserDeleted() {
+        return userDeleted;
+    }
+}
@@ -0,0 +1,19 @@
+package com.team48.procompare.event;
+
+import com.team48.procompare.service.PlayerSnapshot;
+
+/**
+ * Published after the player aggregate has been rebuilt, i.e. whenever Player, Statistics
+ * or Team data may have changed. Anything derived from those tables listens for it.
+ */
+public class PlayerDataRefreshedEvent {
+    private final PlayerSnapshot snapshot;
+
+    public PlayerDataRefreshedEvent(PlayerSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public PlayerSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
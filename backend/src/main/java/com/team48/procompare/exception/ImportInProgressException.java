@@ -0,0 +1,10 @@
+package com.team48.procompare.exception;
+
+/**
+ * Thrown when a statistics import is requested while another one is running.
+ */
+public class ImportInProgressException extends IllegalStateException {
+    public ImportInProgressException() {
+        super("An import is already running");
+    }
+}
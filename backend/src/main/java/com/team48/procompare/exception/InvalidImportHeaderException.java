@@ -0,0 +1,11 @@
+package com.team48.procompare.exception;
+
+/**
+ * Thrown when a statistics import file is empty or its header names the wrong columns. The
+ * message says what is wrong and is meant for the client.
+ */
+public class InvalidImportHeaderException extends IllegalArgumentException {
+    public InvalidImportHeaderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.team48.procompare.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data of an article feed event. Which fields are set depends on the event: article-created
+ * carries the article, vote-changed the article's vote totals, comment-added and
+ * comment-deleted the comment, article-deleted only the articleID.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleEvent {
+    private int articleID;
+    private String headlines;
+    private String userID;
+    private Integer numUpvotes;
+    private Integer numDownvotes;
+    private Integer commentID;
+    private String text;
+
+    public int getArticleID() {
+        return articleID;
+    }
+
+    public void setArticleID(int articleID) {
+        this.articleID = articleID;
+    }
+
+    public String getHeadlines() {
+        return headlines;
+    }
+
+    public void setHeadlines(String headlines) {
+        this.headlines = headlines;
+    }
+
+    public String getUserID() {
+        return userID;
+    }
+
+    public void setUserID(String userID) {
+        this.userID = userID;
+    }
+
+    public Integer getNumUpvotes() {
+        return numUpvotes;
+    }
+
+    public void setNumUpvotes(Integer numUpvotes) {
+        this.numUpvotes = numUpvotes;
+    }
+
+    public Integer getNumDownvotes() {
+        return numDownvotes;
+    }
+
+    public void setNumDownvotes(Integer numDownvotes) {
+        this.numDownvotes = numDownvotes;
+    }
+
+    public Integer getCommentID() {
+        return commentID;
+    }
+
+    public void setCommentID(Integer commentID) {
+        this.commentID = commentID;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -0,0 +1,24 @@
+package com.team48.procompare.model;
+
+import java.util.List;
+
+public class ArticlePage {
+    private List<Article> articles;
+    private String nextCursor;
+
+    public List<Article> getArticles() {
+        return articles;
+    }
+
+    public void setArticles(List<Article> articles) {
+        this.articles = articles;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.team48.procompare.model;
+
+/**
+ * Outcome for one player of a bulk favorites request.
+ */
+public class FavoriteResult {
+    public enum Status {
+        ADDED,
+        ALREADY_FAVORITE,
+        UNKNOWN_PLAYER,
+        REMOVED,
+        NOT_FAVORITE
+    }
+
+    private String playerID;
+    private Status status;
+
+    public FavoriteResult() {
+    }
+
+    public FavoriteResult(String playerID, Status status) {
+        this.playerID = playerID;
+        this.status = status;
+    }
+
+    public String getPlayerID() {
+        return playerID;
+    }
+
+    public void setPlayerID(String playerID) {
+        this.playerID = playerID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,65 @@
+package com.team48.procompare.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a Statistics CSV import. Rejected rows are skipped and the import carries on;
+ * the first few reasons are listed, prefixed with their line number.
+ */
+public class ImportReport {
+    private long rowsRead;
+    private long rowsWritten;
+    private long rowsRejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors = new ArrayList<>();
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -1,7 +1,5 @@
 package com.team48.procompare.model;
 
-import java.util.Map;
-
 public class Player {
     private String playerID;
     private String playerName;
@@ -13,7 +11,7 @@ public class Player {
     private int numSeasons;
     private int numGames;
 
-    private Map<String, Object> stats;
+    private PlayerStats stats;
 
     public String getPlayerID() {
         return playerID;
@@ -87,11 +85,11 @@ public class Player {
         this.numGames = numGames;
     }
 
-    public Map<String, Object> getStats() {
+    public PlayerStats getStats() {
         return stats;
     }
 
-    public void setStats(Map<String, Object> stats) {
+    public void setStats(PlayerStats stats) {
         this.stats = stats;
     }
 }
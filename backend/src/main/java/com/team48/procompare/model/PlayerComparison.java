@@ -0,0 +1,26 @@
+package com.team48.procompare.model;
+
+/**
+ * One player in a comparison: the player, and for each stat of their position the percentile
+ * rank of their value among all players at that position, keyed like the stats themselves.
+ */
+public class PlayerComparison {
+    private Player player;
+    private PlayerStats percentiles;
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+
+    public PlayerStats getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(PlayerStats percentiles) {
+        this.percentiles = percentiles;
+    }
+}
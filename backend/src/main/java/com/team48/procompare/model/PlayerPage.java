@@ -0,0 +1,24 @@
+package com.team48.procompare.model;
+
+import java.util.List;
+
+public class PlayerPage {
+    private List<Player> players;
+    private String nextCursor;
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
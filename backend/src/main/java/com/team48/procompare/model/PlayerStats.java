@@ -0,0 +1,72 @@
+package com.team48.procompare.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A player's career averages for the stats of their position, stored as fixed primitive
+ * slots in {@link PositionEnum#getStats()} order. NaN marks a stat with no value (SQL NULL).
+ * Serializes to the same JSON object the old {@code Map<String, Object>} produced, e.g.
+ * {@code {"avgrec": 5.1, "avgrecYds": 61.4, "avgrecTDs": 0.4}}.
+ */
+@JsonSerialize(using = PlayerStatsSerializer.class)
+public final class PlayerStats {
+    /** Stat columns of the Statistics table. */
+    public static final List<String> STAT_NAMES = List.of(
+        "passYds", "passTDs", "ints", "compPct",
+        "rshAtt", "rshYds", "rshTDs",
+        "rec", "recYds", "recTDs");
+
+    private static final Map<PositionEnum, int[]> STAT_INDEXES = new EnumMap<>(PositionEnum.class);
+
+    static {
+        for (PositionEnum position : PositionEnum.values()) {
+            STAT_INDEXES.put(position, position.getStats().stream().mapToInt(STAT_NAMES::indexOf).toArray());
+        }
+    }
+
+    private final PositionEnum position;
+    private final double[] values;
+
+    /**
+     * @param values One value per stat of the position, in order; NaN for no value. Not copied.
+     */
+    public PlayerStats(PositionEnum position, double[] values) {
+        this.position = position;
+        this.values = values;
+    }
+
+    /**
+     * @return For each stat of the position, its index in {@link #STAT_NAMES}. Shared; do not modify.
+     */
+    public static int[] statIndexes(PositionEnum position) {
+        return STAT_INDEXES.get(position);
+    }
+
+    public PositionEnum getPosition() {
+        return position;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return The value in a slot, or NaN if the player has none.
+     */
+    public double get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * @param key A stat key such as "avgpassYds".
+     * @return The value, or null if the stat is missing or not one of the position's stats.
+     */
+    public Double get(String key) {
+        int slot = position.getStatKeys().indexOf(key);
+        return slot < 0 || Double.isNaN(values[slot]) ? null : values[slot];
+    }
+}
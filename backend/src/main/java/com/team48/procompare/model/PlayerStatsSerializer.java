@@ -0,0 +1,43 @@
+package com.team48.procompare.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes {@link PlayerStats} as a flat JSON object keyed by "avg" + stat name, using
+ * pre-encoded field names per position.
+ */
+public class PlayerStatsSerializer extends JsonSerializer<PlayerStats> {
+    private static final Map<PositionEnum, SerializableString[]> FIELD_NAMES = new EnumMap<>(PositionEnum.class);
+
+    static {
+        for (PositionEnum position : PositionEnum.values()) {
+            FIELD_NAMES.put(position, position.getStatKeys().stream()
+                .map(SerializedString::new)
+                .toArray(SerializableString[]::new));
+        }
+    }
+
+    @Override
+    public void serialize(PlayerStats stats, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        SerializableString[] fieldNames = FIELD_NAMES.get(stats.getPosition());
+        generator.writeStartObject();
+        for (int slot = 0; slot < stats.size(); slot++) {
+            generator.writeFieldName(fieldNames[slot]);
+            double value = stats.get(slot);
+            if (Double.isNaN(value)) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -9,12 +9,40 @@ public enum PositionEnum {
     TE(List.of("rec", "recYds", "recTDs"));
 
     private final List<String> stats;
+    // "avg" + stat name, built once so mapping and serialization do not concatenate per row.
+    private final List<String> statKeys;
 
     PositionEnum(List<String> stats) {
         this.stats = stats;
+        this.statKeys = stats.stream().map(stat -> ("avg" + stat).intern()).toList();
     }
 
     public List<String> getStats() {
         return stats;
     }
+
+    public List<String> getStatKeys() {
+        return statKeys;
+    }
+
+    /**
+     * Like valueOf, but returns null instead of throwing for an unknown or null code.
+     */
+    public static PositionEnum fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        switch (code) {
+            case "QB":
+                return QB;
+            case "RB":
+                return RB;
+            case "WR":
+                return WR;
+            case "TE":
+                return TE;
+            default:
+                return null;
+        }
+    }
 }
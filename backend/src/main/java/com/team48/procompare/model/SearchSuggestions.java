@@ -0,0 +1,24 @@
+package com.team48.procompare.model;
+
+import java.util.List;
+
+public class SearchSuggestions {
+    private List<Player> players;
+    private List<Team> teams;
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    public void setTeams(List<Team> teams) {
+        this.teams = teams;
+    }
+}
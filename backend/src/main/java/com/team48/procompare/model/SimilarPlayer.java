@@ -0,0 +1,26 @@
+package com.team48.procompare.model;
+
+/**
+ * A player similar to another, with the distance between their standardized career stat
+ * vectors (0 for identical stats; smaller is more similar).
+ */
+public class SimilarPlayer {
+    private Player player;
+    private double distance;
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(double distance) {
+        this.distance = distance;
+    }
+}
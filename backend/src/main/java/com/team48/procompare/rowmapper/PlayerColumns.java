@@ -0,0 +1,51 @@
+package com.team48.procompare.rowmapper;
+
+import com.team48.procompare.model.PlayerStats;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Column positions of a player aggregate result set (see PlayerAggregateStore), looked up once
+ * per ResultSet and reused for each of its rows.
+ */
+public final class PlayerColumns {
+    public final int playerID;
+    public final int playerName;
+    public final int playerAge;
+    public final int teamID;
+    public final int teamName;
+    public final int position;
+    public final int score;
+    public final int numSeasons;
+    public final int numGames;
+    // Column of "avg" + stat for each entry of PlayerStats.STAT_NAMES.
+    private final int[] averages = new int[PlayerStats.STAT_NAMES.size()];
+
+    private PlayerColumns(ResultSet result) throws SQLException {
+        playerID = result.findColumn("playerID");
+        playerName = result.findColumn("playerName");
+        playerAge = result.findColumn("playerAge");
+        teamID = result.findColumn("teamID");
+        teamName = result.findColumn("teamName");
+        position = result.findColumn("position");
+        score = result.findColumn("score");
+        numSeasons = result.findColumn("numSeasons");
+        numGames = result.findColumn("numGames");
+        // "avg" + statName corresponds to the aliases in the aggregate query.
+        for (int stat = 0; stat < averages.length; stat++) {
+            averages[stat] = result.findColumn("avg" + PlayerStats.STAT_NAMES.get(stat));
+        }
+    }
+
+    public static PlayerColumns of(ResultSet result) throws SQLException {
+        return new PlayerColumns(result);
+    }
+
+    /**
+     * @param stat Index into PlayerStats.STAT_NAMES.
+     */
+    public int average(int stat) {
+        return averages[stat];
+    }
+}
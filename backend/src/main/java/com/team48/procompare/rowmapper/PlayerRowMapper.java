@@ -1,38 +1,54 @@
 package com.team48.procompare.rowmapper;
 import com.team48.procompare.model.Player;
+import com.team48.procompare.model.PlayerStats;
 import com.team48.procompare.model.PositionEnum;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
+/**
+ * Maps rows of the player aggregate query (see PlayerAggregateStore) to Players. The application
+ * itself loads that query into a PlayerSnapshot; this mapper serves the benchmarks.
+ *
+ * Column positions are looked up once per ResultSet and stats go into a fixed-slot
+ * {@link PlayerStats}, so mapping a row allocates only the Player, its stats and the strings.
+ * Keeps per-ResultSet state: use one instance per query.
+ */
 public class PlayerRowMapper implements RowMapper<Player> {
+    private ResultSet resolvedFor;
+    private PlayerColumns columns;
 
     @Override
     public Player mapRow(ResultSet result, int rowNum) throws SQLException {
+        if (result != resolvedFor) {
+            columns = PlayerColumns.of(result);
+            resolvedFor = result;
+        }
         Player player = new Player();
-        player.setPlayerID(result.getString("playerID"));
-        player.setPlayerName(result.getString("playerName"));
-        player.setPlayerAge(result.getInt("playerAge"));
-        player.setTeamId(result.getInt("teamID"));
-        player.setTeamName(result.getString("teamName"));
-        player.setScore(result.getFloat("score"));
-        player.setNumSeasons(result.getInt("numSeasons"));
-        player.setNumGames(result.getInt("numGames"));
+        player.setPlayerID(result.getString(columns.playerID));
+        player.setPlayerName(result.getString(columns.playerName));
+        player.setPlayerAge(result.getInt(columns.playerAge));
+        player.setTeamId(result.getInt(columns.teamID));
+        player.setTeamName(result.getString(columns.teamName));
+        player.setScore(result.getFloat(columns.score));
+        player.setNumSeasons(result.getInt(columns.numSeasons));
+        player.setNumGames(result.getInt(columns.numGames));
 
         // Set the average stats for the player based on their position.
-        String position = (result.getString("position"));
-        player.setPosition(position);
-        List<String> statNames = PositionEnum.valueOf(position).getStats();
-        Map<String, Object> stats = new HashMap<>();
-        // Add "avg" to beginning of statname, this corresponds to the SQL query below.
-        for(String statName : statNames) {
-            stats.put("avg" + statName, result.getObject("avg" + statName));
+        String code = result.getString(columns.position);
+        PositionEnum position = PositionEnum.fromCode(code);
+        if (position == null) {
+            throw new IllegalArgumentException("Unknown position " + code);
+        }
+        player.setPosition(position.name());
+        int[] statIndexes = PlayerStats.statIndexes(position);
+        double[] values = new double[statIndexes.length];
+        for (int slot = 0; slot < statIndexes.length; slot++) {
+            double value = result.getDouble(columns.average(statIndexes[slot]));
+            values[slot] = result.wasNull() ? Double.NaN : value;
         }
-        player.setStats(stats);
+        player.setStats(new PlayerStats(position, values));
         return player;
     }
 }
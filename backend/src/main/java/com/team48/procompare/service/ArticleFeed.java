@@ -0,0 +1,306 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.ArticleEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes article changes to Server-Sent Events subscribers, in place of polling GET /articles
+ * and the comment lists. Events are article-created, vote-changed, comment-added,
+ * comment-deleted and article-deleted, with an {@link ArticleEvent} as JSON data.
+ *
+ * Writers append to a ring of the last {@code procompare.feed.buffer-size} events and return;
+ * a small pool of sender threads then copies each subscriber forward from its own position in
+ * the ring, so a write never waits on a client. When a subscriber is behind, the vote totals it
+ * has not been sent yet are coalesced into the newest one per article. A subscriber more than
+ * {@code procompare.feed.max-backlog} events behind is disconnected; its reconnect resumes from
+ * the ring.
+ *
+ * A send blocks its sender thread while the client's connection will not take more data. A
+ * watchdog drops a subscriber whose send has run past {@code procompare.feed.write-timeout-ms}
+ * and adds a sender thread to stand in for the stuck one until its send returns, which the
+ * servlet container's own write timeout bounds. Stuck clients therefore cost a thread each
+ * but do not hold up the others.
+ *
+ * Event IDs are "&lt;server start, base 36&gt;-&lt;sequence&gt;". A client reconnecting with a
+ * Last-Event-ID still in the ring gets the events it missed; with an older ID, or one from
+ * before a restart, it gets a reset event and should reload what it shows.
+ */
+@Component
+public class ArticleFeed {
+    static final String ARTICLE_CREATED = "article-created";
+    static final String VOTE_CHANGED = ArticleFeedRing.VOTE_CHANGED;
+    static final String COMMENT_ADDED = "comment-added";
+    static final String COMMENT_DELETED = "comment-deleted";
+    static final String ARTICLE_DELETED = "article-deleted";
+    static final String RESET = "reset";
+    // Subscriber.sendStarted when no send is in progress, and once the watchdog gave up on one.
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long ABANDONED = Long.MAX_VALUE;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ArticleFeedRing ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final int senderThreads;
+    private final long maxBacklog;
+    private final long writeTimeoutNanos;
+    private final long timeoutMillis;
+    // Sends the watchdog has given up on that have not returned yet; guarded by this.
+    private int stuckSenders;
+
+    public ArticleFeed(@Value("${procompare.feed.buffer-size:4096}") int bufferSize,
+                       @Value("${procompare.feed.sender-threads:4}") int senderThreads,
+                       @Value("${procompare.feed.max-backlog:1024}") long maxBacklog,
+                       @Value("${procompare.feed.write-timeout-ms:5000}") long writeTimeoutMillis,
+                       @Value("${procompare.feed.timeout-ms:1800000}") long timeoutMillis) {
+        this.ring = new ArticleFeedRing(bufferSize);
+        this.senderThreads = Math.max(1, senderThreads);
+        this.senders = newSenderPool(this.senderThreads);
+        this.maxBacklog = Math.max(1, maxBacklog);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // Sequence number of the last event sent; only touched by the sender holding `scheduled`.
+        long cursor;
+        boolean reset;
+        // Set by the heartbeat.
+        volatile boolean ping;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started, or IDLE or ABANDONED.
+        final AtomicLong sendStarted = new AtomicLong(IDLE);
+    }
+
+    /**
+     * Opens a subscription.
+     *
+     * @param lastEventID The Last-Event-ID the client reconnected with, or null for a new client.
+     */
+    public SseEmitter subscribe(String lastEventID) {
+        Subscriber subscriber = new Subscriber();
+        long last = ring.last();
+        subscriber.cursor = last;
+        if (lastEventID != null && !lastEventID.isBlank()) {
+            long seq = parseEventID(lastEventID);
+            if (seq >= 0 && ring.after(seq) != null) {
+                subscriber.cursor = seq;
+            } else {
+                subscriber.reset = true;
+            }
+        }
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    public void articleCreated(int articleID, String headlines, String userID) {
+        ArticleEvent event = new ArticleEvent();
+        event.setArticleID(articleID);
+        event.setHeadlines(headlines);
+        event.setUserID(userID);
+        publish(ARTICLE_CREATED, event);
+    }
+
+    public void votesChanged(int articleID, int numUpvotes, int numDownvotes) {
+        ArticleEvent event = new ArticleEvent();
+        event.setArticleID(articleID);
+        event.setNumUpvotes(numUpvotes);
+        event.setNumDownvotes(numDownvotes);
+        publish(VOTE_CHANGED, event);
+    }
+
+    public void commentAdded(int articleID, int commentID, String userID, String text) {
+        ArticleEvent event = new ArticleEvent();
+        event.setArticleID(articleID);
+        event.setCommentID(commentID);
+        event.setUserID(userID);
+        event.setText(text);
+        publish(COMMENT_ADDED, event);
+    }
+
+    public void commentDeleted(int articleID, int commentID) {
+        ArticleEvent event = new ArticleEvent();
+        event.setArticleID(articleID);
+        event.setCommentID(commentID);
+        publish(COMMENT_DELETED, event);
+    }
+
+    public void articleDeleted(int articleID) {
+        ArticleEvent event = new ArticleEvent();
+        event.setArticleID(articleID);
+        publish(ARTICLE_DELETED, event);
+    }
+
+    /**
+     * Sends a comment line to idle subscribers so proxies keep the connections open and
+     * disconnected clients are noticed.
+     */
+    @Scheduled(fixedDelayString = "${procompare.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.ping = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Drops subscribers whose send has been blocked past the write timeout and adds a sender
+     * thread for each until its send returns.
+     */
+    @Scheduled(fixedDelayString = "${procompare.feed.write-timeout-ms:5000}")
+    public void dropStuckSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStarted.get();
+            if (started != IDLE && started != ABANDONED && now - started > writeTimeoutNanos
+                    && subscriber.sendStarted.compareAndSet(started, ABANDONED)) {
+                // The emitter is locked by the blocked send; its sender completes it once free.
+                subscribers.remove(subscriber);
+                resizeSenders(1);
+            }
+        }
+    }
+
+    private void publish(String type, ArticleEvent event) {
+        ring.append(type, event);
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            List<ArticleFeedRing.Entry> events = ring.after(subscriber.cursor);
+            if (events == null || ring.last() - subscriber.cursor > maxBacklog) {
+                // Too far behind; the client's reconnect resumes from the ring, or gets a reset
+                // if the ring has moved past it.
+                disconnect(subscriber);
+                return;
+            }
+            if (subscriber.reset) {
+                subscriber.reset = false;
+                write(subscriber, SseEmitter.event().id(eventID(subscriber.cursor)).name(RESET).data("{}"));
+            }
+            for (ArticleFeedRing.Entry event : events) {
+                write(subscriber, SseEmitter.event().id(eventID(event.seq)).name(event.type)
+                                      .data(event.data, MediaType.APPLICATION_JSON));
+                subscriber.cursor = event.seq;
+            }
+            if (subscriber.ping && events.isEmpty()) {
+                write(subscriber, SseEmitter.event().comment(""));
+            }
+            subscriber.ping = false;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Catch events appended after the read above, whose schedule() found the flag still set.
+        if (subscriber.cursor < ring.last() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    // Sends one event, under the watchdog's eye.
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        long started = System.nanoTime();
+        subscriber.sendStarted.set(started);
+        boolean abandoned = false;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (!subscriber.sendStarted.compareAndSet(started, IDLE)) {
+                resizeSenders(-1);
+                abandoned = true;
+            }
+        }
+        if (abandoned) {
+            disconnect(subscriber);
+            throw new IOException("Write timed out");
+        }
+    }
+
+    // Grows the sender pool while sends are stuck, so the rest keep their full complement.
+    private synchronized void resizeSenders(int stuckDelta) {
+        stuckSenders += stuckDelta;
+        int size = senderThreads + stuckSenders;
+        if (stuckDelta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private String eventID(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // The sequence number of one of this server's event IDs, or -1 for anything else.
+    long parseEventID(String eventID) {
+        int dash = eventID.lastIndexOf('-');
+        if (dash < 0 || !eventID.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventID.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor newSenderPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, "article-feed-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
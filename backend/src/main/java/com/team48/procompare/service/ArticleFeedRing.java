@@ -0,0 +1,72 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.ArticleEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The most recent article feed events in a fixed-size ring, numbered from 1. Appending
+ * overwrites the oldest event once the ring is full.
+ */
+final class ArticleFeedRing {
+    static final String VOTE_CHANGED = "vote-changed";
+
+    private final Entry[] slots;
+    // Sequence number of the newest event, 0 before the first.
+    private long last;
+
+    ArticleFeedRing(int capacity) {
+        this.slots = new Entry[Math.max(1, capacity)];
+    }
+
+    static final class Entry {
+        final long seq;
+        final String type;
+        final ArticleEvent data;
+
+        Entry(long seq, String type, ArticleEvent data) {
+            this.seq = seq;
+            this.type = type;
+            this.data = data;
+        }
+    }
+
+    /**
+     * @return The new event's sequence number.
+     */
+    synchronized long append(String type, ArticleEvent data) {
+        last++;
+        slots[(int) (last % slots.length)] = new Entry(last, type, data);
+        return last;
+    }
+
+    synchronized long last() {
+        return last;
+    }
+
+    /**
+     * Events newer than seq, oldest first. Vote totals supersede each other, so only the newest
+     * vote-changed event per article is kept; the newest event overall is always included.
+     *
+     * @return The events, or null if some of them have already been overwritten.
+     */
+    synchronized List<Entry> after(long seq) {
+        if (seq < last - slots.length || seq > last) {
+            return null;
+        }
+        List<Entry> events = new ArrayList<>((int) (last - seq));
+        Set<Integer> votedArticles = new HashSet<>();
+        for (long s = last; s > seq; s--) {
+            Entry entry = slots[(int) (s % slots.length)];
+            if (!entry.type.equals(VOTE_CHANGED) || votedArticles.add(entry.data.getArticleID())) {
+                events.add(entry);
+            }
+        }
+        Collections.reverse(events);
+        return events;
+    }
+}
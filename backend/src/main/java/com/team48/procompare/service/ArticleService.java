@@ -4,18 +4,30 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class ArticleService {
   private final JdbcTemplate jdbc;
+  private final CredibilityIndex credibility;
+  private final ArticleFeed feed;
+  private final TrendingIndex trending;
+  private final QueryMetrics queryMetrics;
 
-  public ArticleService(JdbcTemplate jdbc) {
+  public ArticleService(JdbcTemplate jdbc, CredibilityIndex credibility, ArticleFeed feed,
+                        TrendingIndex trending, QueryMetrics queryMetrics) {
     this.jdbc = jdbc;
+    this.credibility = credibility;
+    this.feed = feed;
+    this.trending = trending;
+    this.queryMetrics = queryMetrics;
   }
 
   /**
    * Conditionally insert an Article and PlayerNews row,
    * only if user_credibility >= player_credibility (or player_credibility IS NULL).
+   * Both credibility counts are read from the {@link CredibilityIndex}.
    */
   @Transactional(isolation = Isolation.READ_COMMITTED)
   public void createArticleAndLinkIfCredible(
@@ -25,56 +37,35 @@ public class ArticleService {
       String userID,
       String playerID
   ) {
-    // 1) compute user_credibility
-    Integer userCred = jdbc.queryForObject(
-      """
-      SELECT COUNT(*)
-        FROM Users u
-        JOIN (
-          SELECT a.userID
-            FROM Articles a
-            JOIN Comments c USING(articleID)
-           WHERE a.numUpvotes >= a.numDownvotes*2
-           GROUP BY a.articleID
-          HAVING COUNT(*) > 5
-        ) AS Credible ON u.username = Credible.userID
-       WHERE u.username = ?
-      """,
-      Integer.class, username
-    );
-
-    // 2) compute player_credibility
-    Integer playerCred = jdbc.queryForObject(
-      """
-      SELECT COUNT(*)
-        FROM PlayerNews pn
-        JOIN (
-          SELECT a.articleID
-            FROM Articles a
-            JOIN Comments c USING(articleID)
-           WHERE a.numUpvotes >= a.numDownvotes*2
-           GROUP BY a.articleID
-          HAVING COUNT(*) > 5
-        ) AS Credible USING(articleID)
-       WHERE pn.playerID = ?
-      """,
-      Integer.class, playerID
-    );
+    // 1) user_credibility and 2) player_credibility, maintained incrementally
+    int userCred = credibility.userCredibility(username);
+    int playerCred = credibility.playerCredibility(playerID);
 
     // 3) apply the IF logic
-    if (playerCred == null || (userCred != null && userCred >= playerCred)) {
+    if (userCred >= playerCred) {
       // insert Article first (FK constraint)
-      jdbc.update(
+      queryMetrics.update("articles.insert", () -> jdbc.update(
         "INSERT INTO Articles(articleID, headlines, userID, numDownvotes, numUpvotes)\n" +
         "VALUES(?, ?, ?, 0, 0)",
         articleID, headline, userID
-      );
+      ));
 
       // then link in PlayerNews
-      jdbc.update(
+      queryMetrics.update("playerNews.insert", () -> jdbc.update(
         "INSERT INTO PlayerNews(playerID, articleID) VALUES(?, ?)",
         playerID, articleID
-      );
+      ));
+
+      // only count and announce the new article once both rows are committed
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          credibility.articleCreated(articleID, userID);
+          credibility.playerLinked(articleID, playerID);
+          trending.articleCreated(articleID);
+          feed.articleCreated(articleID, headline, userID);
+        }
+      });
     }
   }
 }
@@ -0,0 +1,182 @@
+package com.team48.procompare.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects article up/down votes in memory and writes them to Articles in one JDBC batch
+ * per flush interval, so a popular article no longer takes a row lock per vote.
+ *
+ * Upvotes are counted in LongAdders (striped per thread under contention). Downvotes are
+ * counted under the article's own lock together with its persisted downvotes, so the deletion
+ * threshold is checked against an exact total; a flush takes that lock only briefly before and
+ * after its batch, never across it.
+ *
+ * A flush writes its batch in one transaction and only then subtracts exactly what it read, so
+ * votes that arrive while it runs are kept for the next flush and persisted plus pending never
+ * drops below the true count. Only then do the votes reach the credibility counts, the trending
+ * ranking and the event feed, and the articles version is bumped once for the whole batch. A
+ * vote request therefore touches nothing shared but its article's counters, and readers see
+ * votes within one flush interval.
+ */
+@Component
+public class ArticleVoteBuffer {
+    private static final String FLUSH_SQL =
+        "UPDATE Articles SET numUpvotes = numUpvotes + ?, numDownvotes = numDownvotes + ? WHERE articleID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CredibilityIndex credibility;
+    private final TrendingIndex trending;
+    private final ArticleFeed feed;
+    private final ResourceVersions versions;
+    private final QueryMetrics queryMetrics;
+    private final Map<Integer, PendingVotes> pending = new ConcurrentHashMap<>();
+
+    public ArticleVoteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             CredibilityIndex credibility, TrendingIndex trending, ArticleFeed feed,
+                             ResourceVersions versions, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.credibility = credibility;
+        this.trending = trending;
+        this.feed = feed;
+        this.versions = versions;
+        this.queryMetrics = queryMetrics;
+    }
+
+    private static final class PendingVotes {
+        final LongAdder upvotes = new LongAdder();
+        // The fields below are guarded by this object's monitor.
+        // Unflushed downvotes, counting those of a flush until it commits.
+        int downvotes;
+        // numDownvotes already in the database, or -1 until the first downvote needs it. Loaded
+        // before the article's first pending downvote, so never while a flush of them is running.
+        int persistedDownvotes = -1;
+    }
+
+    public void recordUpvote(int articleID) {
+        pending.computeIfAbsent(articleID, id -> new PendingVotes()).upvotes.increment();
+    }
+
+    /**
+     * Records a downvote.
+     *
+     * @return The article's total downvotes: persisted plus not yet flushed.
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the article does not exist.
+     */
+    public int recordDownvote(int articleID) {
+        PendingVotes votes = pending.computeIfAbsent(articleID, id -> new PendingVotes());
+        synchronized (votes) {
+            if (votes.persistedDownvotes < 0) {
+                votes.persistedDownvotes = loadPersistedDownvotes(articleID);
+            }
+            votes.downvotes++;
+            return votes.persistedDownvotes + votes.downvotes;
+        }
+    }
+
+    public int pendingUpvotes(int articleID) {
+        PendingVotes votes = pending.get(articleID);
+        return votes == null ? 0 : votes.upvotes.intValue();
+    }
+
+    public int pendingDownvotes(int articleID) {
+        PendingVotes votes = pending.get(articleID);
+        if (votes == null) {
+            return 0;
+        }
+        synchronized (votes) {
+            return votes.downvotes;
+        }
+    }
+
+    /**
+     * Drops the unflushed votes of an article that is being deleted.
+     */
+    public void discard(int articleID) {
+        pending.remove(articleID);
+    }
+
+    /**
+     * Writes all pending votes in a single batch. Runs on a short fixed delay and once more
+     * on shutdown, after the web server has stopped taking requests.
+     */
+    @Scheduled(fixedDelayString = "${procompare.votes.flush-interval-ms:500}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Integer> articleIDs = new ArrayList<>();
+        List<PendingVotes> flushed = new ArrayList<>();
+        List<long[]> deltas = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Integer, PendingVotes> entry : pending.entrySet()) {
+            PendingVotes votes = entry.getValue();
+            long up = votes.upvotes.sum();
+            long down;
+            synchronized (votes) {
+                down = votes.downvotes;
+            }
+            if (up == 0 && down == 0) {
+                continue;
+            }
+            articleIDs.add(entry.getKey());
+            flushed.add(votes);
+            deltas.add(new long[] {up, down});
+            batch.add(new Object[] {up, down, entry.getKey()});
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // On failure the batch rolls back and the votes stay pending for the next flush.
+        int[] updated = transactionTemplate.execute(status ->
+            queryMetrics.batch("articles.votes.flush", () -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch)));
+
+        for (int i = 0; i < articleIDs.size(); i++) {
+            int articleID = articleIDs.get(i);
+            int up = (int) deltas.get(i)[0];
+            int down = (int) deltas.get(i)[1];
+            PendingVotes votes = flushed.get(i);
+            if (updated[i] == 0) {
+                // The article no longer exists.
+                pending.remove(articleID, votes);
+                continue;
+            }
+            votes.upvotes.add(-up);
+            int pendingDownvotes;
+            synchronized (votes) {
+                // Moves the downvotes from pending to persisted in one step.
+                votes.downvotes -= down;
+                if (votes.persistedDownvotes >= 0) {
+                    votes.persistedDownvotes += down;
+                }
+                pendingDownvotes = votes.downvotes;
+            }
+            credibility.votesChanged(articleID, up, down);
+            trending.votesFlushed(articleID, up, down);
+            int[] persisted = credibility.persistedVotes(articleID);
+            if (persisted != null) {
+                feed.votesChanged(articleID, persisted[0] + votes.upvotes.intValue(),
+                                  persisted[1] + pendingDownvotes);
+            }
+        }
+        versions.bump(ResourceVersions.Family.ARTICLES);
+    }
+
+    private int loadPersistedDownvotes(int articleID) {
+        Integer downs = queryMetrics.single("articles.votes.downvotes", () -> jdbcTemplate.queryForObject(
+            "SELECT numDownvotes FROM Articles WHERE articleID = ?",
+            Integer.class, articleID));
+        return downs == null ? 0 : downs;
+    }
+}
@@ -0,0 +1,197 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.config.ReplicaRoutingDataSource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the counts behind ArticleService's credibility check up to date incrementally.
+ *
+ * An article is credible when numUpvotes >= numDownvotes * 2 and it has more than five
+ * comments. User credibility is the number of credible articles the user wrote; player
+ * credibility is the number of credible articles linked to the player through PlayerNews.
+ * Comment, vote, article and PlayerNews writes update the counters here, so the check reads
+ * two map entries instead of scanning Articles joined with Comments.
+ */
+@Component
+public class CredibilityIndex {
+    static final int MIN_COMMENTS_EXCLUSIVE = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+    private final Map<Integer, ArticleState> articles = new HashMap<>();
+    private final Map<String, Integer> credibleByUser = new HashMap<>();
+    private final Map<String, Integer> credibleByPlayer = new HashMap<>();
+    private boolean loaded;
+
+    public CredibilityIndex(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+    }
+
+    private static final class ArticleState {
+        String userID;
+        int upvotes;
+        int downvotes;
+        int comments;
+        final List<String> playerIDs = new ArrayList<>(1);
+        boolean credible;
+    }
+
+    public synchronized int userCredibility(String username) {
+        ensureLoaded();
+        return credibleByUser.getOrDefault(username, 0);
+    }
+
+    public synchronized int playerCredibility(String playerID) {
+        ensureLoaded();
+        return credibleByPlayer.getOrDefault(playerID, 0);
+    }
+
+    public synchronized void articleCreated(int articleID, String userID) {
+        ensureLoaded();
+        ArticleState article = new ArticleState();
+        article.userID = userID;
+        articles.put(articleID, article);
+    }
+
+    public synchronized void articleDeleted(int articleID) {
+        ensureLoaded();
+        ArticleState article = articles.remove(articleID);
+        if (article != null && article.credible) {
+            setCredible(article, false);
+        }
+    }
+
+    public synchronized void playerLinked(int articleID, String playerID) {
+        ensureLoaded();
+        ArticleState article = articles.get(articleID);
+        if (article != null) {
+            article.playerIDs.add(playerID);
+            if (article.credible) {
+                credibleByPlayer.merge(playerID, 1, Integer::sum);
+            }
+        }
+    }
+
+    public synchronized void commentAdded(int articleID) {
+        ensureLoaded();
+        ArticleState article = articles.get(articleID);
+        if (article != null) {
+            article.comments++;
+            reclassify(article);
+        }
+    }
+
+    public synchronized void commentRemoved(int articleID) {
+        ensureLoaded();
+        ArticleState article = articles.get(articleID);
+        if (article != null) {
+            article.comments--;
+            reclassify(article);
+        }
+    }
+
+    /**
+     * @return The article's {numUpvotes, numDownvotes} as last written to Articles, or null if
+     *         there is no such article.
+     */
+    public synchronized int[] persistedVotes(int articleID) {
+        ensureLoaded();
+        ArticleState article = articles.get(articleID);
+        return article == null ? null : new int[] {article.upvotes, article.downvotes};
+    }
+
+    /**
+     * Applies vote deltas once they have been written to Articles.
+     */
+    public synchronized void votesChanged(int articleID, int upvoteDelta, int downvoteDelta) {
+        ensureLoaded();
+        ArticleState article = articles.get(articleID);
+        if (article != null) {
+            article.upvotes += upvoteDelta;
+            article.downvotes += downvoteDelta;
+            reclassify(article);
+        }
+    }
+
+    /**
+     * Reloads every counter from the database. Runs at startup and on a slow fixed delay to
+     * pick up any writes made outside the application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${procompare.credibility.rebuild-interval-ms:3600000}",
+               initialDelayString = "${procompare.credibility.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        articles.clear();
+        credibleByUser.clear();
+        credibleByPlayer.clear();
+        queryMetrics.counted("articles.credibility.articles", () -> {
+            jdbcTemplate.query(
+                """
+                SELECT a.articleID, a.userID, a.numUpvotes, a.numDownvotes, COUNT(c.commentID) AS numComments
+                  FROM Articles a
+                  LEFT JOIN Comments c ON c.articleID = a.articleID
+                 GROUP BY a.articleID, a.userID, a.numUpvotes, a.numDownvotes
+                """,
+                result -> {
+                    ArticleState article = new ArticleState();
+                    article.userID = result.getString("userID");
+                    article.upvotes = result.getInt("numUpvotes");
+                    article.downvotes = result.getInt("numDownvotes");
+                    article.comments = result.getInt("numComments");
+                    articles.put(result.getInt("articleID"), article);
+                });
+            return articles.size();
+        });
+        long[] links = new long[1];
+        queryMetrics.counted("articles.credibility.playerNews", () -> {
+            jdbcTemplate.query("SELECT playerID, articleID FROM PlayerNews", result -> {
+                links[0]++;
+                ArticleState article = articles.get(result.getInt("articleID"));
+                if (article != null) {
+                    article.playerIDs.add(result.getString("playerID"));
+                }
+            });
+            return links[0];
+        });
+        for (ArticleState article : articles.values()) {
+            reclassify(article);
+        }
+        loaded = true;
+    }
+
+    // The first use may come from a read-only request; load from the primary all the same, as
+    // writes from here on are applied on top of what is loaded.
+    private void ensureLoaded() {
+        if (!loaded) {
+            ReplicaRoutingDataSource.onPrimary(this::rebuild);
+        }
+    }
+
+    private void reclassify(ArticleState article) {
+        boolean credible = article.upvotes >= article.downvotes * 2 && article.comments > MIN_COMMENTS_EXCLUSIVE;
+        if (credible != article.credible) {
+            setCredible(article, credible);
+        }
+    }
+
+    private void setCredible(ArticleState article, boolean credible) {
+        article.credible = credible;
+        int delta = credible ? 1 : -1;
+        if (article.userID != null) {
+            credibleByUser.merge(article.userID, delta, Integer::sum);
+        }
+        for (String playerID : article.playerIDs) {
+            credibleByPlayer.merge(playerID, delta, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.team48.procompare.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sub-queries of a composite endpoint in parallel, so the endpoint takes
+ * about as long as its slowest sub-query rather than the sum of them.
+ *
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open()) {
+ *     Supplier&lt;User&gt; user = scope.fork(() -&gt; ...);
+ *     Supplier&lt;List&lt;String&gt;&gt; ids = scope.fork(() -&gt; ...);
+ *     scope.join();
+ *     ... user.get(), ids.get() ...
+ * }
+ * </pre>
+ *
+ * Tasks run on virtual threads when {@code spring.threads.virtual.enabled} is set and the
+ * runtime is Java 21 or later, and on a bounded platform pool otherwise. Either way at most
+ * {@code procompare.fanout.max-concurrency} tasks (by default half the Hikari pool) run at once,
+ * so fan-out always leaves connections free for plain requests.
+ */
+@Component
+public class FanOut {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean virtualThreads;
+
+    public FanOut(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                  @Value("${procompare.fanout.max-concurrency:#{${spring.datasource.hikari.maximum-pool-size:10} / 2}}")
+                  int maxConcurrency) {
+        int limit = Math.max(1, maxConcurrency);
+        ExecutorService virtual = virtualThreadsEnabled ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformExecutor(limit);
+        this.permits = new Semaphore(limit);
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    /**
+     * A group of tasks that are joined together. If any task fails, join cancels the others and
+     * rethrows the first failure; closing the scope cancels anything still running.
+     */
+    public final class Scope implements AutoCloseable {
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Starts a task.
+         *
+         * @return Its result, available after {@link #join()}.
+         */
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            Future<T> future = executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return task.get();
+                } finally {
+                    permits.release();
+                }
+            });
+            futures.add(future);
+            return () -> {
+                if (!future.isDone()) {
+                    throw new IllegalStateException("Scope has not been joined");
+                }
+                return getNow(future);
+            };
+        }
+
+        /**
+         * Waits for every task to finish.
+         *
+         * @throws RuntimeException The first failure of a task, as thrown by the task.
+         */
+        public void join() {
+            try {
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        cancelAll();
+                        throw unwrap(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for sub-queries");
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T getNow(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while reading a sub-query result");
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor, looked up at runtime since the build targets Java 17.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(java.util.concurrent.Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, "fanout-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
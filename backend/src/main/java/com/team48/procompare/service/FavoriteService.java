@@ -0,0 +1,241 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.event.FavoritesChangedEvent;
+import com.team48.procompare.model.FavoriteResult;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and bulk-edits users' favorites.
+ *
+ * Each user's favorite player IDs are cached in the "favorites" cache under the user's current
+ * version. Every write to Favorites (here or in UserController) is reported through
+ * {@link #favoritesChanged}, which bumps the version once the write is committed and publishes a
+ * {@link FavoritesChangedEvent}. A read that loaded the old rows caches them under the old
+ * version, where no later read looks, so it cannot serve them after the write.
+ */
+@Service
+public class FavoriteService {
+    public static final String FAVORITES_CACHE = "favorites";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+    private final FanOut fanOut;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    // Bumped after every committed write to a user's favorites. Users never written have version 0.
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    private record CacheKey(String username, long version) {}
+
+    public FavoriteService(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics, FanOut fanOut,
+                           CacheManager cacheManager, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+        this.fanOut = fanOut;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Gets the IDs of a user's favorite players. On a cache miss the user and favorites
+     * queries run in parallel.
+     *
+     * @return The favorite player IDs (unmodifiable).
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the user does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> favoriteIDs(String username) {
+        // Read the version before loading, so rows loaded before a write are cached under the old one.
+        CacheKey key = new CacheKey(username, versions.getOrDefault(username, 0L));
+        Cache cache = cacheManager.getCache(FAVORITES_CACHE);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        if (cached != null) {
+            return (List<String>) cached.get();
+        }
+        List<String> favoriteIDs = loadFavoriteIDs(username);
+        if (cache != null) {
+            cache.put(key, favoriteIDs);
+        }
+        return favoriteIDs;
+    }
+
+    private List<String> loadFavoriteIDs(String username) {
+        try (FanOut.Scope scope = fanOut.open()) {
+            Supplier<String> user = scope.fork(() -> queryMetrics.single("user.get",
+                () -> jdbcTemplate.queryForObject("SELECT username FROM Users WHERE username = ?",
+                                                  String.class, username)));
+            Supplier<List<String>> favorites = scope.fork(() -> queryMetrics.list("user.favoriteIds",
+                () -> jdbcTemplate.queryForList("SELECT playerID FROM Favorites WHERE username = ?",
+                                                String.class, username)));
+            scope.join();
+            user.get();
+            return List.copyOf(favorites.get());
+        }
+    }
+
+    /**
+     * Adds players to a user's favorites with one batch in one transaction.
+     * Repeated IDs in the request are reported once. A player already added by a concurrent
+     * request is reported as ALREADY_FAVORITE rather than failing the batch.
+     *
+     * @return One result per distinct player ID, in request order.
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the user does not exist.
+     */
+    @Transactional
+    public List<FavoriteResult> addFavorites(String username, List<String> playerIDs) {
+        requireUser(username);
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(playerIDs));
+        Set<String> existing = new HashSet<>(currentFavorites(username));
+        Set<String> known = knownPlayers(distinct);
+        List<String> candidates = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (String playerID : distinct) {
+            if (!existing.contains(playerID) && known.contains(playerID)) {
+                candidates.add(playerID);
+                batch.add(new Object[] {username, playerID});
+            }
+        }
+
+        // IGNORE skips a row a concurrent request inserted since the read above; its update count
+        // is 0. The main pool does not rewrite batches, so the counts are per row.
+        int[] inserted = batch.isEmpty() ? new int[0] : queryMetrics.batch("user.favorites.insertBatch",
+            () -> jdbcTemplate.batchUpdate("INSERT IGNORE INTO Favorites (username, playerID) VALUES (?, ?)", batch));
+        Set<String> added = new LinkedHashSet<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (inserted[i] != 0) {
+                added.add(candidates.get(i));
+            }
+        }
+
+        List<FavoriteResult> results = new ArrayList<>(distinct.size());
+        for (String playerID : distinct) {
+            FavoriteResult.Status status;
+            if (added.contains(playerID)) {
+                status = FavoriteResult.Status.ADDED;
+            } else if (existing.contains(playerID) || known.contains(playerID)) {
+                status = FavoriteResult.Status.ALREADY_FAVORITE;
+            } else {
+                status = FavoriteResult.Status.UNKNOWN_PLAYER;
+            }
+            results.add(new FavoriteResult(playerID, status));
+        }
+        if (!added.isEmpty()) {
+            favoritesChanged(username, List.copyOf(added), List.of());
+        }
+        return results;
+    }
+
+    /**
+     * Removes players from a user's favorites with one batch in one transaction.
+     *
+     * @return One result per distinct player ID, in request order.
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the user does not exist.
+     */
+    @Transactional
+    public List<FavoriteResult> removeFavorites(String username, List<String> playerIDs) {
+        requireUser(username);
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(playerIDs));
+        List<Object[]> batch = new ArrayList<>(distinct.size());
+        for (String playerID : distinct) {
+            batch.add(new Object[] {username, playerID});
+        }
+        int[] deleted = batch.isEmpty() ? new int[0] : queryMetrics.batch("user.favorites.deleteBatch",
+            () -> jdbcTemplate.batchUpdate("DELETE FROM Favorites WHERE username = ? AND playerID = ?", batch));
+
+        List<FavoriteResult> results = new ArrayList<>(distinct.size());
+        List<String> removed = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            boolean wasFavorite = deleted[i] != 0;
+            results.add(new FavoriteResult(distinct.get(i), wasFavorite
+                ? FavoriteResult.Status.REMOVED
+                : FavoriteResult.Status.NOT_FAVORITE));
+            if (wasFavorite) {
+                removed.add(distinct.get(i));
+            }
+        }
+        if (!removed.isEmpty()) {
+            favoritesChanged(username, List.of(), removed);
+        }
+        return results;
+    }
+
+    /**
+     * Reports a write to a user's Favorites rows. Call after every such write.
+     *
+     * @param added Player IDs that became favorites.
+     * @param removed Player IDs that stopped being favorites.
+     */
+    public void favoritesChanged(String username, List<String> added, List<String> removed) {
+        afterCommit(new FavoritesChangedEvent(username, List.copyOf(added), List.copyOf(removed), false));
+    }
+
+    /**
+     * Reports that a user and all of their favorites were deleted.
+     */
+    public void userDeleted(String username) {
+        afterCommit(new FavoritesChangedEvent(username, List.of(), List.of(), true));
+    }
+
+    private void afterCommit(FavoritesChangedEvent event) {
+        // Bump only once the write is visible, so a read under the new version loads the new rows.
+        // Listeners only hear about committed changes.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion(event.getUsername());
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            bumpVersion(event.getUsername());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private void bumpVersion(String username) {
+        long current = versions.merge(username, 1L, Long::sum);
+        // The old entry can no longer be read; drop it rather than wait for it to expire.
+        Cache cache = cacheManager.getCache(FAVORITES_CACHE);
+        if (cache != null) {
+            cache.evict(new CacheKey(username, current - 1));
+        }
+    }
+
+    private void requireUser(String username) {
+        queryMetrics.single("user.get", () -> jdbcTemplate.queryForObject(
+            "SELECT username FROM Users WHERE username = ?", String.class, username));
+    }
+
+    private Set<String> knownPlayers(List<String> playerIDs) {
+        if (playerIDs.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = playerIDs.stream().map(id -> "?").collect(Collectors.joining(", "));
+        return new HashSet<>(queryMetrics.list("user.favorites.knownPlayers", () -> jdbcTemplate.queryForList(
+            "SELECT playerID FROM Player WHERE playerID IN (" + placeholders + ")", String.class,
+            playerIDs.toArray())));
+    }
+
+    private List<String> currentFavorites(String username) {
+        return queryMetrics.list("user.favoriteIds", () -> jdbcTemplate.queryForList(
+            "SELECT playerID FROM Favorites WHERE username = ?", String.class, username));
+    }
+}
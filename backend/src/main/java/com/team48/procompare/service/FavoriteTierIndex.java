@@ -0,0 +1,158 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.event.FavoritesChangedEvent;
+import com.team48.procompare.event.PlayerDataRefreshedEvent;
+import com.team48.procompare.model.FavoriteSummary;
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the favorites tier summary (how many of a user's favorites at a position are in the
+ * High, Mid and Low tier of a stat) from memory, replacing the GetFavoriteSummary procedure.
+ *
+ * Each user's histogram over (position, stat, tier) is built from their cached favorite IDs
+ * and the snapshot's {@link StatTiers} on first request, then kept current by adding or
+ * subtracting single players as favorites change. A player data refresh moves tier
+ * boundaries, so it drops every histogram to be rebuilt on demand.
+ *
+ * Favorites are loaded outside any lock. A histogram built from them is only kept if none of
+ * the user's favorites changed meanwhile; otherwise it answers the one request and the next
+ * one builds afresh.
+ */
+@Component
+public class FavoriteTierIndex {
+    private static final int STATS = PlayerStats.STAT_NAMES.size();
+    private static final int TIERS = StatTiers.NAMES.length;
+
+    private final PlayerAggregateStore playerStore;
+    private final FavoriteService favoriteService;
+    private final Map<String, UserTiers> byUser = new ConcurrentHashMap<>();
+    // Favorites changes seen per user, to tell whether a histogram being built may have missed one.
+    private final Map<String, Long> changes = new ConcurrentHashMap<>();
+
+    public FavoriteTierIndex(PlayerAggregateStore playerStore, FavoriteService favoriteService) {
+        this.playerStore = playerStore;
+        this.favoriteService = favoriteService;
+    }
+
+    // Immutable; replaced as a whole on every change so readers never see a half-applied update.
+    private static final class UserTiers {
+        final PlayerSnapshot snapshot;
+        final Set<String> favorites;
+        // counts[(position * STATS + stat) * TIERS + tier]
+        final int[] counts;
+
+        UserTiers(PlayerSnapshot snapshot, Set<String> favorites, int[] counts) {
+            this.snapshot = snapshot;
+            this.favorites = favorites;
+            this.counts = counts;
+        }
+
+        static UserTiers build(PlayerSnapshot snapshot, List<String> favoriteIDs) {
+            int[] counts = new int[PositionEnum.values().length * STATS * TIERS];
+            for (String playerID : new HashSet<>(favoriteIDs)) {
+                apply(snapshot, counts, playerID, 1);
+            }
+            return new UserTiers(snapshot, Set.copyOf(favoriteIDs), counts);
+        }
+
+        UserTiers with(List<String> added, List<String> removed) {
+            Set<String> nextFavorites = new HashSet<>(favorites);
+            int[] nextCounts = counts.clone();
+            for (String playerID : added) {
+                if (nextFavorites.add(playerID)) {
+                    apply(snapshot, nextCounts, playerID, 1);
+                }
+            }
+            for (String playerID : removed) {
+                if (nextFavorites.remove(playerID)) {
+                    apply(snapshot, nextCounts, playerID, -1);
+                }
+            }
+            return new UserTiers(snapshot, nextFavorites, nextCounts);
+        }
+
+        // Players without statistics are in no tier, as with the procedure's join.
+        private static void apply(PlayerSnapshot snapshot, int[] counts, String playerID, int delta) {
+            int slot = snapshot.indexOf(playerID);
+            if (slot < 0) {
+                return;
+            }
+            StatTiers tiers = snapshot.statTiers();
+            int base = snapshot.position(slot).ordinal() * STATS;
+            for (int stat = 0; stat < STATS; stat++) {
+                int tier = tiers.tier(stat, slot);
+                if (tier != StatTiers.NONE) {
+                    counts[(base + stat) * TIERS + tier] += delta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the tier histogram of a user's favorites for one position and stat.
+     *
+     * @param stat A stat name such as "passYds".
+     * @return The non-empty tiers in High, Mid, Low order; empty for an unknown position or stat.
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the user does not exist.
+     */
+    public List<FavoriteSummary> summary(String username, String position, String stat) {
+        PositionEnum positionEnum = PositionEnum.fromCode(position);
+        int statIndex = PlayerStats.STAT_NAMES.indexOf(stat);
+        if (positionEnum == null || statIndex < 0) {
+            return List.of();
+        }
+
+        PlayerSnapshot snapshot = playerStore.snapshot();
+        UserTiers userTiers = byUser.get(username);
+        if (userTiers == null || userTiers.snapshot != snapshot) {
+            long seen = changes.getOrDefault(username, 0L);
+            UserTiers built = UserTiers.build(snapshot, favoriteService.favoriteIDs(username));
+            UserTiers installed = byUser.compute(username, (key, current) -> {
+                if (current != null && current.snapshot == snapshot) {
+                    return current;
+                }
+                return changes.getOrDefault(username, 0L) == seen ? built : current;
+            });
+            userTiers = installed != null && installed.snapshot == snapshot ? installed : built;
+        }
+
+        int base = (positionEnum.ordinal() * STATS + statIndex) * TIERS;
+        List<FavoriteSummary> summary = new ArrayList<>(TIERS);
+        for (int tier = 0; tier < TIERS; tier++) {
+            int count = userTiers.counts[base + tier];
+            if (count > 0) {
+                FavoriteSummary row = new FavoriteSummary();
+                row.setTier(StatTiers.NAMES[tier]);
+                row.setCount(count);
+                summary.add(row);
+            }
+        }
+        return summary;
+    }
+
+    @EventListener
+    public void onFavoritesChanged(FavoritesChangedEvent event) {
+        changes.merge(event.getUsername(), 1L, Long::sum);
+        if (event.isUserDeleted()) {
+            byUser.remove(event.getUsername());
+        } else {
+            byUser.computeIfPresent(event.getUsername(),
+                (key, current) -> current.with(event.getAdded(), event.getRemoved()));
+        }
+    }
+
+    @EventListener
+    public void onPlayerDataRefreshed(PlayerDataRefreshedEvent event) {
+        byUser.clear();
+    }
+}
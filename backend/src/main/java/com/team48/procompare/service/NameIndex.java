@@ -0,0 +1,196 @@
+package com.team48.procompare.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable search index over a fixed list of names, addressed by entry number.
+ *
+ * Substring queries (the old {@code LIKE '%name%'}) use a trigram inverted index: the posting
+ * lists of the query's trigrams are intersected and the survivors verified. Prefix queries for
+ * autocomplete binary-search a sorted array of name tokens. Matching ignores case and accents.
+ */
+public final class NameIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final String[] normalized;
+    private final float[] scores;
+    private final Map<Long, int[]> trigrams;
+    // Sorted tokens (each word and the whole name) and the entry each one came from.
+    private final String[] prefixKeys;
+    private final int[] prefixEntries;
+
+    /**
+     * @param names Name of each entry; null names never match.
+     * @param scores Ranking of each entry for prefix queries, higher first.
+     */
+    public NameIndex(String[] names, float[] scores) {
+        int size = names.length;
+        this.normalized = new String[size];
+        this.scores = Arrays.copyOf(scores, size);
+
+        Map<Long, List<Integer>> postings = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        List<Integer> keyEntries = new ArrayList<>();
+        for (int entry = 0; entry < size; entry++) {
+            String name = normalize(names[entry]);
+            normalized[entry] = name;
+            if (name == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                List<Integer> posting = postings.computeIfAbsent(trigram(name, i), k -> new ArrayList<>());
+                // Entries are added in order, so a repeated trigram only needs checking against the tail.
+                if (posting.isEmpty() || posting.get(posting.size() - 1) != entry) {
+                    posting.add(entry);
+                }
+            }
+            keys.add(name);
+            keyEntries.add(entry);
+            for (String token : TOKEN_SEPARATORS.split(name)) {
+                if (!token.isEmpty() && !token.equals(name)) {
+                    keys.add(token);
+                    keyEntries.add(entry);
+                }
+            }
+        }
+
+        this.trigrams = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<Long, List<Integer>> posting : postings.entrySet()) {
+            trigrams.put(posting.getKey(), posting.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+        this.prefixKeys = new String[order.length];
+        this.prefixEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            prefixKeys[i] = keys.get(order[i]);
+            prefixEntries[i] = keyEntries.get(order[i]);
+        }
+    }
+
+    /**
+     * Lower-cases and strips accents, so accented and plain spellings compare equal.
+     *
+     * @return The folded text, or null for null input.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    public int size() {
+        return normalized.length;
+    }
+
+    /**
+     * @return The entries whose name contains the query as a substring.
+     */
+    public BitSet containing(String query) {
+        String needle = normalize(query);
+        BitSet matches = new BitSet(normalized.length);
+        if (needle == null || needle.isEmpty()) {
+            matches.set(0, normalized.length);
+            return matches;
+        }
+        if (needle.length() < 3) {
+            // Too short for a trigram; a scan over the folded names is still cheap.
+            for (int entry = 0; entry < normalized.length; entry++) {
+                if (normalized[entry] != null && normalized[entry].contains(needle)) {
+                    matches.set(entry);
+                }
+            }
+            return matches;
+        }
+
+        int[][] lists = new int[needle.length() - 2][];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = trigrams.get(trigram(needle, i));
+            if (lists[i] == null) {
+                return matches;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        for (int entry : lists[0]) {
+            if (inAll(lists, entry) && normalized[entry].contains(needle)) {
+                matches.set(entry);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the highest scoring entries with a word (or the whole name) starting with the prefix.
+     *
+     * @return Up to limit entries, best score first.
+     */
+    public int[] topByPrefix(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key == null || key.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        int start = lowerBound(key);
+        BitSet seen = new BitSet(normalized.length);
+        // Min-heap on score keeps the best `limit` entries.
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(scores[a], scores[b]));
+        for (int i = start; i < prefixKeys.length && prefixKeys[i].startsWith(key); i++) {
+            int entry = prefixEntries[i];
+            if (seen.get(entry)) {
+                continue;
+            }
+            seen.set(entry);
+            best.add(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        int[] result = new int[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = best.poll();
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = prefixKeys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prefixKeys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean inAll(int[][] lists, int entry) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i], entry) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+}
@@ -0,0 +1,105 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.event.PlayerDataRefreshedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the career aggregate of every player in memory so that player, team and user
+ * reads do not re-run the Player/Statistics/Team GROUP BY on each request.
+ *
+ * The snapshot is built at startup and rebuilt on a fixed delay (statistics may be loaded
+ * outside the application) or whenever {@link #refresh()} is called after a stats change,
+ * as {@link StatisticsImporter} does after an import.
+ */
+@Service
+public class PlayerAggregateStore {
+    static final String AGGREGATE_SQL = """
+        SELECT p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score,
+               COUNT(s.year) AS numSeasons, SUM(s.games) AS numGames,
+               AVG(s.passYds) AS avgpassYds, AVG(s.passTDs) AS avgpassTDs, AVG(s.ints) AS avgints, AVG(s.compPct) AS avgcompPct,
+               AVG(s.rshAtt) AS avgrshAtt, AVG(s.rshYds) AS avgrshYds, AVG(s.rshTDs) AS avgrshTDs,
+               AVG(s.rec) AS avgrec, AVG(s.recYds) AS avgrecYds, AVG(s.recTDs) AS avgrecTDs
+        FROM Player p
+        JOIN Statistics s ON s.playerID = p.playerID
+        JOIN Team t ON t.teamID = p.teamID
+        GROUP BY p.playerID, p.playerName, p.playerAge, t.teamID, t.teamName, p.position, p.score
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryMetrics queryMetrics;
+    private volatile PlayerSnapshot snapshot;
+
+    public PlayerAggregateStore(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * Returns the current snapshot, loading it first if no refresh has completed yet.
+     */
+    public PlayerSnapshot snapshot() {
+        PlayerSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and swaps it in, then publishes a
+     * {@link PlayerDataRefreshedEvent}. Readers keep using the previous snapshot until
+     * the new one is complete.
+     */
+    public void refresh() {
+        refresh(UnaryOperator.identity());
+    }
+
+    /**
+     * Like {@link #refresh()}, but installs the snapshot that change derives from the fresh
+     * one, for work that writes back what it computes from the data (as {@link ScoringEngine}
+     * does with scores) without loading the snapshot a second time.
+     */
+    public synchronized void refresh(UnaryOperator<PlayerSnapshot> change) {
+        PlayerSnapshot current = change.apply(load());
+        snapshot = current;
+        eventPublisher.publishEvent(new PlayerDataRefreshedEvent(current));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${procompare.players.refresh-interval-ms:300000}",
+               initialDelayString = "${procompare.players.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    private PlayerSnapshot load() {
+        PlayerSnapshot.Builder builder = new PlayerSnapshot.Builder();
+        RowCallbackHandler handler = builder::add;
+        queryMetrics.counted("players.aggregate", () -> {
+            jdbcTemplate.query(AGGREGATE_SQL, handler);
+            return builder.size();
+        });
+        return builder.build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.team48.procompare.service;
+
+/**
+ * Columns of the player aggregate that listings can be sorted on.
+ * The names match the column aliases of the player aggregate query, so they are
+ * the values clients already send as {@code orderBy}.
+ */
+public enum PlayerColumn {
+    PLAYER_ID("playerID", false),
+    PLAYER_NAME("playerName", false),
+    PLAYER_AGE("playerAge", true),
+    TEAM_ID("teamID", true),
+    TEAM_NAME("teamName", false),
+    POSITION("position", false),
+    SCORE("score", true),
+    NUM_SEASONS("numSeasons", true),
+    NUM_GAMES("numGames", true),
+    AVG_PASS_YDS("avgpassYds", true),
+    AVG_PASS_TDS("avgpassTDs", true),
+    AVG_INTS("avgints", true),
+    AVG_COMP_PCT("avgcompPct", true),
+    AVG_RSH_ATT("avgrshAtt", true),
+    AVG_RSH_YDS("avgrshYds", true),
+    AVG_RSH_TDS("avgrshTDs", true),
+    AVG_REC("avgrec", true),
+    AVG_REC_YDS("avgrecYds", true),
+    AVG_REC_TDS("avgrecTDs", true);
+
+    private final String columnName;
+    private final boolean numeric;
+
+    PlayerColumn(String columnName, boolean numeric) {
+        this.columnName = columnName;
+        this.numeric = numeric;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * Resolves an {@code orderBy} request parameter to a column.
+     * Table aliases used by the old SQL ("p.score", "t.teamName") are accepted.
+     *
+     * @return The matching column, or null if the value is not a sortable column.
+     */
+    public static PlayerColumn fromOrderBy(String orderBy) {
+        if (orderBy == null || orderBy.isBlank()) {
+            return null;
+        }
+        String name = orderBy.trim();
+        int dot = name.indexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        for (PlayerColumn column : values()) {
+            if (column.columnName.equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+}
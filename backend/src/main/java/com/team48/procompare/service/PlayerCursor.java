@@ -0,0 +1,100 @@
+package com.team48.procompare.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a sorted player listing: the sort column and direction plus the
+ * sort key (column value, playerID) of the last player on the previous page.
+ * Clients only ever see the opaque encoded form.
+ */
+public final class PlayerCursor {
+    private static final int VERSION = 1;
+
+    private final PlayerColumn column;
+    private final boolean ascending;
+    private final double numericValue;
+    private final String textValue;
+    private final String playerID;
+
+    private PlayerCursor(PlayerColumn column, boolean ascending, double numericValue, String textValue,
+                         String playerID) {
+        this.column = column;
+        this.ascending = ascending;
+        this.numericValue = numericValue;
+        this.textValue = textValue;
+        this.playerID = playerID;
+    }
+
+    /**
+     * Creates the cursor that resumes a listing right after the given slot.
+     */
+    public static PlayerCursor after(PlayerSnapshot snapshot, PlayerColumn column, boolean ascending, int slot) {
+        if (column.isNumeric()) {
+            return new PlayerCursor(column, ascending, snapshot.numericValue(column, slot), null,
+                                    snapshot.playerID(slot));
+        }
+        return new PlayerCursor(column, ascending, Double.NaN, snapshot.textValue(column, slot),
+                                snapshot.playerID(slot));
+    }
+
+    public PlayerColumn getColumn() {
+        return column;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Compares this cursor's sort key with a slot, using the snapshot's ascending ordering.
+     */
+    int compareTo(PlayerSnapshot snapshot, int slot) {
+        int result = column.isNumeric()
+            ? PlayerSnapshot.compareNumbers(numericValue, snapshot.numericValue(column, slot))
+            : PlayerSnapshot.compareText(textValue, snapshot.textValue(column, slot));
+        return result != 0 ? result : playerID.compareTo(snapshot.playerID(slot));
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(column.name());
+            out.writeBoolean(ascending);
+            out.writeDouble(numericValue);
+            out.writeBoolean(textValue != null);
+            if (textValue != null) {
+                out.writeUTF(textValue);
+            }
+            out.writeUTF(playerID);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value was not produced by {@link #encode()}.
+     */
+    public static PlayerCursor decode(String encoded) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(encoded)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            PlayerColumn column = PlayerColumn.valueOf(in.readUTF());
+            boolean ascending = in.readBoolean();
+            double numericValue = in.readDouble();
+            String textValue = in.readBoolean() ? in.readUTF() : null;
+            String playerID = in.readUTF();
+            return new PlayerCursor(column, ascending, numericValue, textValue, playerID);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.Player;
+import com.team48.procompare.model.PlayerPage;
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import com.team48.procompare.rowmapper.PlayerColumns;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable, column-oriented copy of the player aggregate (one row per player with
+ * career COUNT/SUM/AVG over Statistics). Every column is a primitive or String array
+ * indexed by the player's slot; a new snapshot is built and swapped in on refresh.
+ */
+public final class PlayerSnapshot {
+    private final int size;
+    private final String[] playerIDs;
+    private final String[] playerNames;
+    private final int[] playerAges;
+    private final int[] teamIDs;
+    private final String[] teamNames;
+    private final PositionEnum[] positions;
+    private final float[] scores;
+    private final int[] numSeasons;
+    private final int[] numGames;
+    // averages[stat][player], stats in PlayerStats.STAT_NAMES order; NaN stands for SQL NULL.
+    private final double[][] averages;
+    private final Map<String, Integer> indexById;
+    // Slots of each team's players, keyed by the accent- and case-folded team name.
+    private final Map<String, int[]> slotsByTeamName;
+    // Trigram/prefix index over player names, built on first use.
+    private volatile NameIndex nameIndex;
+    // Per-position sorted stat values and tercile tiers, built on first use.
+    private volatile StatDistribution statDistribution;
+    private volatile StatTiers statTiers;
+    // Standardized stat vectors for similar-player search, built on first use.
+    private volatile SimilarityIndex similarityIndex;
+    // Best player slot per team, indexed by PositionEnum ordinal; -1 when the team has nobody there.
+    private final Map<Integer, int[]> topByTeam;
+    // Ascending (value, playerID) orderings, computed on first use per column.
+    private final AtomicReferenceArray<int[]> sortOrders =
+        new AtomicReferenceArray<>(PlayerColumn.values().length);
+
+    private PlayerSnapshot(Builder builder) {
+        this.size = builder.size;
+        this.playerIDs = Arrays.copyOf(builder.playerIDs, size);
+        this.playerNames = Arrays.copyOf(builder.playerNames, size);
+        this.playerAges = Arrays.copyOf(builder.playerAges, size);
+        this.teamIDs = Arrays.copyOf(builder.teamIDs, size);
+        this.teamNames = Arrays.copyOf(builder.teamNames, size);
+        this.positions = Arrays.copyOf(builder.positions, size);
+        this.scores = Arrays.copyOf(builder.scores, size);
+        this.numSeasons = Arrays.copyOf(builder.numSeasons, size);
+        this.numGames = Arrays.copyOf(builder.numGames, size);
+        this.averages = new double[PlayerStats.STAT_NAMES.size()][];
+        for (int stat = 0; stat < averages.length; stat++) {
+            averages[stat] = Arrays.copyOf(builder.averages[stat], size);
+        }
+
+        this.indexById = new HashMap<>(size * 2);
+        Map<String, List<Integer>> teamSlots = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexById.put(playerIDs[i], i);
+            if (teamNames[i] != null) {
+                teamSlots.computeIfAbsent(NameIndex.normalize(teamNames[i]), name -> new ArrayList<>()).add(i);
+            }
+        }
+        this.slotsByTeamName = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> team : teamSlots.entrySet()) {
+            slotsByTeamName.put(team.getKey(), team.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        this.topByTeam = rankTopPlayers();
+    }
+
+    // Shares everything but the scores with base, including the stat indexes it has built.
+    private PlayerSnapshot(PlayerSnapshot base, float[] scores) {
+        this.size = base.size;
+        this.playerIDs = base.playerIDs;
+        this.playerNames = base.playerNames;
+        this.playerAges = base.playerAges;
+        this.teamIDs = base.teamIDs;
+        this.teamNames = base.teamNames;
+        this.positions = base.positions;
+        this.scores = Arrays.copyOf(scores, size);
+        this.numSeasons = base.numSeasons;
+        this.numGames = base.numGames;
+        this.averages = base.averages;
+        this.indexById = base.indexById;
+        this.slotsByTeamName = base.slotsByTeamName;
+        this.statDistribution = base.statDistribution;
+        this.statTiers = base.statTiers;
+        this.similarityIndex = base.similarityIndex;
+        this.topByTeam = rankTopPlayers();
+    }
+
+    public static PlayerSnapshot empty() {
+        return new Builder().build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param scores New score per slot.
+     * @return A snapshot equal to this one but for the scores.
+     */
+    PlayerSnapshot withScores(float[] scores) {
+        return new PlayerSnapshot(this, scores);
+    }
+
+    /**
+     * @return The slot of the player, or -1 if the player has no aggregate row.
+     */
+    public int indexOf(String playerID) {
+        Integer index = indexById.get(playerID);
+        return index == null ? -1 : index;
+    }
+
+    public String playerID(int i) {
+        return playerIDs[i];
+    }
+
+    public int teamID(int i) {
+        return teamIDs[i];
+    }
+
+    public PositionEnum position(int i) {
+        return positions[i];
+    }
+
+    public float score(int i) {
+        return scores[i];
+    }
+
+    /**
+     * @param stat Index into {@link PlayerStats#STAT_NAMES}.
+     * @return The career average, or NaN if the player has no value for the stat.
+     */
+    public double average(int stat, int i) {
+        return averages[stat][i];
+    }
+
+    /**
+     * Builds the response object for a slot, in the same shape PlayerRowMapper produces.
+     */
+    public Player toPlayer(int i) {
+        Player player = new Player();
+        player.setPlayerID(playerIDs[i]);
+        player.setPlayerName(playerNames[i]);
+        player.setPlayerAge(playerAges[i]);
+        player.setTeamId(teamIDs[i]);
+        player.setTeamName(teamNames[i]);
+        player.setScore(scores[i]);
+        player.setNumSeasons(numSeasons[i]);
+        player.setNumGames(numGames[i]);
+        player.setPosition(positions[i].name());
+
+        int[] statIndexes = PlayerStats.statIndexes(positions[i]);
+        double[] values = new double[statIndexes.length];
+        for (int slot = 0; slot < statIndexes.length; slot++) {
+            values[slot] = averages[statIndexes[slot]][i];
+        }
+        player.setStats(new PlayerStats(positions[i], values));
+        return player;
+    }
+
+    /**
+     * Percentile ranks of a slot's stats within its position, in the same shape as its stats.
+     */
+    public PlayerStats percentiles(int i) {
+        StatDistribution distribution = statDistribution();
+        int[] statIndexes = PlayerStats.statIndexes(positions[i]);
+        double[] ranks = new double[statIndexes.length];
+        for (int slot = 0; slot < statIndexes.length; slot++) {
+            int stat = statIndexes[slot];
+            ranks[slot] = distribution.percentile(positions[i], stat, averages[stat][i]);
+        }
+        return new PlayerStats(positions[i], ranks);
+    }
+
+    public StatDistribution statDistribution() {
+        StatDistribution distribution = statDistribution;
+        if (distribution == null) {
+            distribution = new StatDistribution(positions, averages);
+            statDistribution = distribution;
+        }
+        return distribution;
+    }
+
+    public SimilarityIndex similarityIndex() {
+        SimilarityIndex index = similarityIndex;
+        if (index == null) {
+            index = new SimilarityIndex(positions, averages);
+            similarityIndex = index;
+        }
+        return index;
+    }
+
+    public StatTiers statTiers() {
+        StatTiers tiers = statTiers;
+        if (tiers == null) {
+            tiers = new StatTiers(this);
+            statTiers = tiers;
+        }
+        return tiers;
+    }
+
+    /**
+     * Index over player names, with entry numbers equal to slots.
+     */
+    public NameIndex nameIndex() {
+        NameIndex index = nameIndex;
+        if (index == null) {
+            index = new NameIndex(playerNames, scores);
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Resolves the listing's text filters to the set of matching slots. Both are case- and
+     * accent-insensitive substring matches, like the old {@code LIKE '%...%'}.
+     *
+     * @param name Substring of the player name, or null/blank for no filter.
+     * @param team Substring of the team name, or null/blank for no filter.
+     * @return The matching slots, or null when neither filter is set.
+     */
+    public BitSet filter(String name, String team) {
+        boolean byName = name != null && !name.isBlank();
+        boolean byTeam = team != null && !team.isBlank();
+        if (!byName && !byTeam) {
+            return null;
+        }
+        BitSet candidates = byName ? nameIndex().containing(name) : null;
+        if (byTeam) {
+            String needle = NameIndex.normalize(team);
+            BitSet onTeam = new BitSet(size);
+            for (Map.Entry<String, int[]> entry : slotsByTeamName.entrySet()) {
+                if (entry.getKey().contains(needle)) {
+                    for (int slot : entry.getValue()) {
+                        onTeam.set(slot);
+                    }
+                }
+            }
+            if (candidates == null) {
+                candidates = onTeam;
+            } else {
+                candidates.and(onTeam);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks a slot against the listing filters.
+     *
+     * @param candidates Slots allowed by the text filters (see {@link #filter}), or null for all.
+     * @param position Required position, or null for no filter.
+     */
+    public boolean matches(int i, BitSet candidates, PositionEnum position) {
+        return (position == null || positions[i] == position) && (candidates == null || candidates.get(i));
+    }
+
+    /**
+     * Returns one page of a filtered, sorted listing by walking the precomputed sort order.
+     */
+    public List<Player> list(PlayerColumn column, boolean ascending, BitSet candidates, PositionEnum position,
+                             int offset, int limit) {
+        int[] order = sortOrder(column);
+        List<Player> players = new ArrayList<>(Math.min(limit, size));
+        int skipped = 0;
+        for (int k = 0; k < size && players.size() < limit; k++) {
+            int i = ascending ? order[k] : order[size - 1 - k];
+            if (!matches(i, candidates, position)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            players.add(toPlayer(i));
+        }
+        return players;
+    }
+
+    /**
+     * Returns the page of a filtered, sorted listing that follows the cursor, seeking to the
+     * cursor's sort key with a binary search instead of skipping the earlier rows.
+     *
+     * @param after Position to resume after, or null for the first page.
+     * @return The page, whose next cursor is null when no further player matches.
+     */
+    public PlayerPage seek(PlayerColumn column, boolean ascending, BitSet candidates, PositionEnum position,
+                           PlayerCursor after, int limit) {
+        int[] order = sortOrder(column);
+        int start = after == null ? 0 : seekPosition(order, after, ascending);
+        List<Player> players = new ArrayList<>(Math.min(limit, size));
+        int last = -1;
+        boolean more = false;
+        for (int k = start; k < size; k++) {
+            int i = ascending ? order[k] : order[size - 1 - k];
+            if (!matches(i, candidates, position)) {
+                continue;
+            }
+            if (players.size() == limit) {
+                more = true;
+                break;
+            }
+            players.add(toPlayer(i));
+            last = i;
+        }
+
+        PlayerPage page = new PlayerPage();
+        page.setPlayers(players);
+        page.setNextCursor(more ? PlayerCursor.after(this, column, ascending, last).encode() : null);
+        return page;
+    }
+
+    /**
+     * @return How many entries of the iteration order (ascending or reversed) lie at or before the cursor.
+     */
+    private int seekPosition(int[] order, PlayerCursor cursor, boolean ascending) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = cursor.compareTo(this, order[mid]);
+            // Ascending: find the first key > cursor. Descending: find the first key >= cursor.
+            if (ascending ? cmp >= 0 : cmp > 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return ascending ? lo : size - lo;
+    }
+
+    /**
+     * Looks up the highest scoring player of a team at a position in the pre-ranked table.
+     *
+     * @return The player, or null if the team has nobody at that position.
+     */
+    public Player topPlayer(int teamID, PositionEnum position) {
+        int[] top = topByTeam.get(teamID);
+        if (top == null || top[position.ordinal()] < 0) {
+            return null;
+        }
+        return toPlayer(top[position.ordinal()]);
+    }
+
+    // One pass over all players keeps the best score per (team, position); ties go to the lower playerID.
+    private Map<Integer, int[]> rankTopPlayers() {
+        Map<Integer, int[]> top = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int[] slots = top.computeIfAbsent(teamIDs[i], teamID -> {
+                int[] empty = new int[PositionEnum.values().length];
+                Arrays.fill(empty, -1);
+                return empty;
+            });
+            int best = slots[positions[i].ordinal()];
+            if (best < 0 || scores[i] > scores[best]
+                    || (scores[i] == scores[best] && playerIDs[i].compareTo(playerIDs[best]) < 0)) {
+                slots[positions[i].ordinal()] = i;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * @return Slots ordered ascending by the column, ties broken by playerID. Shared; do not modify.
+     */
+    public int[] sortOrder(PlayerColumn column) {
+        int[] order = sortOrders.get(column.ordinal());
+        if (order == null) {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, comparator(column));
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
+            sortOrders.compareAndSet(column.ordinal(), null, order);
+        }
+        return order;
+    }
+
+    /**
+     * Orders slots the way MySQL orders the column (NULLs first, text case-insensitive),
+     * with playerID as the tie breaker so the order is total.
+     */
+    public Comparator<Integer> comparator(PlayerColumn column) {
+        return (a, b) -> {
+            int result = column.isNumeric()
+                ? compareNumbers(numericValue(column, a), numericValue(column, b))
+                : compareText(textValue(column, a), textValue(column, b));
+            return result != 0 ? result : playerIDs[a].compareTo(playerIDs[b]);
+        };
+    }
+
+    public double numericValue(PlayerColumn column, int i) {
+        switch (column) {
+            case PLAYER_AGE:
+                return playerAges[i];
+            case TEAM_ID:
+                return teamIDs[i];
+            case SCORE:
+                return scores[i];
+            case NUM_SEASONS:
+                return numSeasons[i];
+            case NUM_GAMES:
+                return numGames[i];
+            default:
+                return averages[column.ordinal() - PlayerColumn.AVG_PASS_YDS.ordinal()][i];
+        }
+    }
+
+    public String textValue(PlayerColumn column, int i) {
+        switch (column) {
+            case PLAYER_ID:
+                return playerIDs[i];
+            case PLAYER_NAME:
+                return playerNames[i];
+            case TEAM_NAME:
+                return teamNames[i];
+            case POSITION:
+                return positions[i].name();
+            default:
+                throw new IllegalArgumentException(column + " is not a text column");
+        }
+    }
+
+    static int compareNumbers(double a, double b) {
+        boolean aNull = Double.isNaN(a);
+        boolean bNull = Double.isNaN(b);
+        if (aNull || bNull) {
+            return aNull == bNull ? 0 : (aNull ? -1 : 1);
+        }
+        return Double.compare(a, b);
+    }
+
+    static int compareText(String a, String b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : (a == null ? -1 : 1);
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+
+    /**
+     * Accumulates aggregate rows into growable column arrays.
+     */
+    static final class Builder {
+        private int size;
+        private String[] playerIDs = new String[256];
+        private String[] playerNames = new String[256];
+        private int[] playerAges = new int[256];
+        private int[] teamIDs = new int[256];
+        private String[] teamNames = new String[256];
+        private PositionEnum[] positions = new PositionEnum[256];
+        private float[] scores = new float[256];
+        private int[] numSeasons = new int[256];
+        private int[] numGames = new int[256];
+        private final double[][] averages = new double[PlayerStats.STAT_NAMES.size()][256];
+        // Column positions of the result set being read, looked up on its first row.
+        private ResultSet resolvedFor;
+        private PlayerColumns columns;
+
+        /**
+         * Appends the current row of a player aggregate result set.
+         * Rows with a position outside PositionEnum are skipped, as the old mapper would fail on them.
+         */
+        void add(ResultSet result) throws SQLException {
+            if (result != resolvedFor) {
+                columns = PlayerColumns.of(result);
+                resolvedFor = result;
+            }
+            PositionEnum position = PositionEnum.fromCode(result.getString(columns.position));
+            if (position == null) {
+                return;
+            }
+            if (size == playerIDs.length) {
+                grow();
+            }
+            playerIDs[size] = result.getString(columns.playerID);
+            playerNames[size] = result.getString(columns.playerName);
+            playerAges[size] = result.getInt(columns.playerAge);
+            teamIDs[size] = result.getInt(columns.teamID);
+            teamNames[size] = result.getString(columns.teamName);
+            positions[size] = position;
+            scores[size] = result.getFloat(columns.score);
+            numSeasons[size] = result.getInt(columns.numSeasons);
+            numGames[size] = result.getInt(columns.numGames);
+            for (int stat = 0; stat < averages.length; stat++) {
+                double value = result.getDouble(columns.average(stat));
+                averages[stat][size] = result.wasNull() ? Double.NaN : value;
+            }
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        PlayerSnapshot build() {
+            return new PlayerSnapshot(this);
+        }
+
+        private void grow() {
+            int capacity = playerIDs.length * 2;
+            playerIDs = Arrays.copyOf(playerIDs, capacity);
+            playerNames = Arrays.copyOf(playerNames, capacity);
+            playerAges = Arrays.copyOf(playerAges, capacity);
+            teamIDs = Arrays.copyOf(teamIDs, capacity);
+            teamNames = Arrays.copyOf(teamNames, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            numSeasons = Arrays.copyOf(numSeasons, capacity);
+            numGames = Arrays.copyOf(numGames, capacity);
+            for (int stat = 0; stat < averages.length; stat++) {
+                averages[stat] = Arrays.copyOf(averages[stat], capacity);
+            }
+        }
+    }
+}
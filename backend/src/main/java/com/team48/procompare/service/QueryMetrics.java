@@ -0,0 +1,120 @@
+package com.team48.procompare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Records latency, row count and errors of each SQL statement under a stable query name
+ * such as "players.aggregate" or "articles.credibility". Every JdbcTemplate call in the
+ * application goes through one of these methods.
+ *
+ * Meters (all tagged with {@code query}):
+ * <ul>
+ *   <li>{@code procompare.db.query}: timer, also tagged {@code outcome} = success or error.</li>
+ *   <li>{@code procompare.db.query.rows}: rows returned or affected per call.</li>
+ *   <li>{@code procompare.db.query.errors}: failed calls, also tagged {@code exception}.</li>
+ * </ul>
+ * A query that finds no row (EmptyResultDataAccessException) counts as a success with 0 rows.
+ */
+@Component
+public class QueryMetrics {
+    static final String TIMER = "procompare.db.query";
+    static final String ROWS = "procompare.db.query.rows";
+    static final String ERRORS = "procompare.db.query.errors";
+
+    private final MeterRegistry registry;
+    private final Map<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private final class QueryMeters {
+        final String name;
+        final Timer success;
+        final Timer error;
+        final DistributionSummary rows;
+
+        QueryMeters(String name) {
+            this.name = name;
+            this.success = Timer.builder(TIMER).tag("query", name).tag("outcome", "success").register(registry);
+            this.error = Timer.builder(TIMER).tag("query", name).tag("outcome", "error").register(registry);
+            this.rows = DistributionSummary.builder(ROWS).baseUnit("rows").tag("query", name).register(registry);
+        }
+
+        Counter errors(RuntimeException e) {
+            return Counter.builder(ERRORS).tag("query", name).tag("exception", e.getClass().getSimpleName())
+                .register(registry);
+        }
+    }
+
+    /**
+     * Runs a query and records it.
+     *
+     * @param rowCount Number of rows in the query's result.
+     */
+    public <T> T record(String name, Supplier<T> query, ToLongFunction<? super T> rowCount) {
+        QueryMeters queryMeters = meters.computeIfAbsent(name, QueryMeters::new);
+        Timer.Sample sample = Timer.start(registry);
+        T result;
+        try {
+            result = query.get();
+        } catch (EmptyResultDataAccessException e) {
+            sample.stop(queryMeters.success);
+            queryMeters.rows.record(0);
+            throw e;
+        } catch (RuntimeException e) {
+            sample.stop(queryMeters.error);
+            queryMeters.errors(e).increment();
+            throw e;
+        }
+        sample.stop(queryMeters.success);
+        queryMeters.rows.record(rowCount.applyAsLong(result));
+        return result;
+    }
+
+    public <T> List<T> list(String name, Supplier<List<T>> query) {
+        return record(name, query, List::size);
+    }
+
+    /**
+     * For queryForObject; a null result counts as no row.
+     */
+    public <T> T single(String name, Supplier<T> query) {
+        return record(name, query, result -> result == null ? 0 : 1);
+    }
+
+    /**
+     * For statements that report their own row count: updates, and row callback queries
+     * that count the rows they handle.
+     */
+    public long counted(String name, LongSupplier query) {
+        return record(name, query::getAsLong, Long::longValue);
+    }
+
+    public int update(String name, IntSupplier update) {
+        return record(name, update::getAsInt, Integer::longValue);
+    }
+
+    public int[] batch(String name, Supplier<int[]> batch) {
+        return record(name, batch, updated -> {
+            long total = 0;
+            for (int count : updated) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.event.PlayerDataRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A version counter for each family of read endpoints, bumped after every write that can change
+ * what they return. Strong ETags are derived from the counters, so a client revalidating an
+ * unchanged resource is answered with 304 before any query runs.
+ *
+ * Players and teams change together on every player data refresh (the teams listing includes
+ * strengths, team details include top players); articles on every article, vote or comment write.
+ */
+@Component
+public class ResourceVersions {
+    public enum Family {
+        PLAYERS, TEAMS, ARTICLES
+    }
+
+    // Counters restart at 0, so tags also carry the process start time to stay unique across restarts.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Family.values().length);
+    // System.currentTimeMillis() of each family's last bump, written before the version moves.
+    private final AtomicLongArray bumpedAt = new AtomicLongArray(Family.values().length);
+
+    /**
+     * Call after the write is visible to readers, so a tag is never paired with older data.
+     */
+    public void bump(Family family) {
+        bumpedAt.set(family.ordinal(), System.currentTimeMillis());
+        versions.incrementAndGet(family.ordinal());
+    }
+
+    /**
+     * Time since the family's last bump, at least as recent as the version last read by
+     * {@link #etag}; huge if it was never bumped.
+     */
+    public long millisSinceBump(Family family) {
+        return System.currentTimeMillis() - bumpedAt.get(family.ordinal());
+    }
+
+    /**
+     * @return The quoted strong ETag of the family's current version, e.g. "players-m1x2y3-42".
+     */
+    public String etag(Family family) {
+        return "\"" + family.name().toLowerCase(Locale.ROOT) + "-" + epoch + "-" + versions.get(family.ordinal()) + "\"";
+    }
+
+    @EventListener
+    public void onPlayerDataRefreshed(PlayerDataRefreshedEvent event) {
+        bump(Family.PLAYERS);
+        bump(Family.TEAMS);
+    }
+}
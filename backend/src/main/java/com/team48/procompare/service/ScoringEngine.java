@@ -0,0 +1,235 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Keeps Player.score and Team.teamStrength in step with Statistics.
+ *
+ * A player's score is the mean, over the stats of their position, of their percentile rank
+ * within the position ({@link StatDistribution}), with interceptions counted inversely; it runs
+ * from 0 to 100. A team's strength is the mean score of its best player at each position it has.
+ * Players without any statistics keep their stored score.
+ *
+ * {@link #statisticsChanged} rescores only the given players and their teams; other players'
+ * ranks drift slightly as the distribution moves, which the next {@link #rebuild} corrects.
+ * Scores are computed in parallel on a dedicated fork-join pool. Player scores that changed and
+ * the affected teams' strengths are written in batches of {@code procompare.scoring.batch-size},
+ * each committed on its own. Each run loads the player aggregate once, scores from it and
+ * installs it with the new scores, so listings pick up both the statistics and the scores.
+ */
+@Service
+public class ScoringEngine {
+    private static final int INTS = PlayerStats.STAT_NAMES.indexOf("ints");
+    // Slots per fork-join leaf task.
+    private static final int LEAF_SIZE = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerAggregateStore playerStore;
+    private final QueryMetrics queryMetrics;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final boolean rebuildOnStartup;
+
+    public ScoringEngine(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         PlayerAggregateStore playerStore, QueryMetrics queryMetrics,
+                         @Value("${procompare.scoring.parallelism:0}") int parallelism,
+                         @Value("${procompare.scoring.batch-size:1000}") int batchSize,
+                         @Value("${procompare.scoring.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.playerStore = playerStore;
+        this.queryMetrics = queryMetrics;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = Math.max(1, batchSize);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rescores every player and team, for a cold start or after bulk changes.
+     *
+     * @return The number of player and team rows written.
+     */
+    public synchronized int rebuild() {
+        int[] written = new int[1];
+        playerStore.refresh(snapshot -> {
+            int[] slots = new int[snapshot.size()];
+            Arrays.setAll(slots, slot -> slot);
+            return rescore(snapshot, slots, written);
+        });
+        return written[0];
+    }
+
+    /**
+     * Rescores the given players and their teams after their Statistics rows changed.
+     *
+     * @return The number of player and team rows written.
+     */
+    public synchronized int statisticsChanged(Collection<String> playerIDs) {
+        int[] written = new int[1];
+        playerStore.refresh(snapshot -> {
+            int[] slots = playerIDs.stream().distinct().mapToInt(snapshot::indexOf).filter(slot -> slot >= 0)
+                                   .toArray();
+            return rescore(snapshot, slots, written);
+        });
+        return written[0];
+    }
+
+    // Writes the new scores and strengths, counting the rows in written[0].
+    // Returns the snapshot with the new scores.
+    private PlayerSnapshot rescore(PlayerSnapshot snapshot, int[] slots, int[] written) {
+        if (slots.length == 0) {
+            return snapshot;
+        }
+        StatDistribution distribution = snapshot.statDistribution();
+        float[] scores = new float[snapshot.size()];
+        for (int slot = 0; slot < scores.length; slot++) {
+            scores[slot] = snapshot.score(slot);
+        }
+        pool.invoke(new ScoreTask(snapshot, distribution, slots, scores, 0, slots.length));
+
+        List<Object[]> playerUpdates = new ArrayList<>();
+        Set<Integer> teams = new HashSet<>();
+        for (int slot : slots) {
+            teams.add(snapshot.teamID(slot));
+            if (scores[slot] != snapshot.score(slot)) {
+                playerUpdates.add(new Object[] {scores[slot], snapshot.playerID(slot)});
+            }
+        }
+        List<Object[]> teamUpdates = new ArrayList<>();
+        for (Map.Entry<Integer, Float> strength : teamStrengths(snapshot, scores, teams).entrySet()) {
+            teamUpdates.add(new Object[] {strength.getValue(), strength.getKey()});
+        }
+
+        write("players.score.update", "UPDATE Player SET score = ? WHERE playerID = ?", playerUpdates);
+        write("teams.strength.update", "UPDATE Team SET teamStrength = ? WHERE teamID = ?", teamUpdates);
+        written[0] = playerUpdates.size() + teamUpdates.size();
+        return playerUpdates.isEmpty() ? snapshot : snapshot.withScores(scores);
+    }
+
+    // Scores a range of slots, splitting it in half until it is small enough to do in place.
+    private static final class ScoreTask extends RecursiveAction {
+        private final PlayerSnapshot snapshot;
+        private final StatDistribution distribution;
+        private final int[] slots;
+        private final float[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(PlayerSnapshot snapshot, StatDistribution distribution, int[] slots, float[] scores,
+                  int from, int to) {
+            this.snapshot = snapshot;
+            this.distribution = distribution;
+            this.slots = slots;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    float score = score(snapshot, distribution, slots[i]);
+                    if (!Float.isNaN(score)) {
+                        scores[slots[i]] = score;
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(snapshot, distribution, slots, scores, from, mid),
+                      new ScoreTask(snapshot, distribution, slots, scores, mid, to));
+        }
+    }
+
+    /**
+     * @return The player's score, or NaN if they have no value for any stat of their position.
+     */
+    static float score(PlayerSnapshot snapshot, StatDistribution distribution, int slot) {
+        PositionEnum position = snapshot.position(slot);
+        double sum = 0;
+        int count = 0;
+        for (int stat : PlayerStats.statIndexes(position)) {
+            double percentile = distribution.percentile(position, stat, snapshot.average(stat, slot));
+            if (!Double.isNaN(percentile)) {
+                sum += stat == INTS ? 100 - percentile : percentile;
+                count++;
+            }
+        }
+        return count == 0 ? Float.NaN : (float) (sum / count);
+    }
+
+    // Strength of each team in teamIDs from the best score per position among its players.
+    private static Map<Integer, Float> teamStrengths(PlayerSnapshot snapshot, float[] scores, Set<Integer> teamIDs) {
+        Map<Integer, float[]> best = new HashMap<>();
+        for (int slot = 0; slot < snapshot.size(); slot++) {
+            int teamID = snapshot.teamID(slot);
+            if (!teamIDs.contains(teamID)) {
+                continue;
+            }
+            float[] top = best.computeIfAbsent(teamID, id -> {
+                float[] empty = new float[PositionEnum.values().length];
+                Arrays.fill(empty, Float.NaN);
+                return empty;
+            });
+            int position = snapshot.position(slot).ordinal();
+            if (Float.isNaN(top[position]) || scores[slot] > top[position]) {
+                top[position] = scores[slot];
+            }
+        }
+        Map<Integer, Float> strengths = new HashMap<>();
+        for (Map.Entry<Integer, float[]> team : best.entrySet()) {
+            double sum = 0;
+            int count = 0;
+            for (float score : team.getValue()) {
+                if (!Float.isNaN(score)) {
+                    sum += score;
+                    count++;
+                }
+            }
+            strengths.put(team.getKey(), (float) (sum / count));
+        }
+        return strengths;
+    }
+
+    private void write(String name, String sql, List<Object[]> updates) {
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Object[]> batch = updates.subList(from, Math.min(updates.size(), from + batchSize));
+            transactionTemplate.executeWithoutResult(status ->
+                queryMetrics.batch(name, () -> jdbcTemplate.batchUpdate(sql, batch)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
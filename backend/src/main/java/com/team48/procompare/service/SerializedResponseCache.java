@@ -0,0 +1,137 @@
+package com.team48.procompare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team48.procompare.event.PlayerDataRefreshedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of hot list endpoints kept as ready-to-send JSON bytes, plus a gzip copy
+ * when the body is big enough to be worth compressing. A hit skips the query, the row mapping
+ * and Jackson; the shared array is handed to the message converter, which writes it to the
+ * socket as is.
+ *
+ * Entries are keyed by the resource version (see {@link ResourceVersions}) they were built under
+ * and the endpoint's normalized parameters, so a response built under an older version can never
+ * replace a newer one; old entries go unread until evicted. Everything is dropped on a player data refresh, which follows every Team, Player
+ * and Statistics write. Total size is bounded by {@code procompare.response-cache.max-bytes}.
+ */
+@Component
+public class SerializedResponseCache {
+    static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Body> bodies;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, MeterRegistry registry,
+                                   @Value("${procompare.response-cache.max-bytes:8388608}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.bodies = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, Body body) -> key.length() * 2 + body.size())
+            .recordStats()
+            .build(), "responses");
+    }
+
+    private static final class Body {
+        final byte[] json;
+        // Null when the body is too small to compress.
+        final byte[] gzip;
+
+        Body(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    /**
+     * Answers from the cache, or computes, serializes and caches the value on a miss.
+     *
+     * @param key The endpoint and its normalized parameters.
+     * @param version The current version of the resource, read before computing.
+     * @param acceptEncoding The request's Accept-Encoding header, may be null.
+     */
+    public ResponseEntity<byte[]> respond(String key, String version, String acceptEncoding, Supplier<?> value) {
+        // Racing misses under the same version build equivalent bodies, so the last put may win.
+        String versionedKey = version + " " + key;
+        Body body = bodies.getIfPresent(versionedKey);
+        if (body == null) {
+            body = serialize(value.get());
+            bodies.put(versionedKey, body);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip);
+        }
+        return response.body(body.json);
+    }
+
+    @EventListener
+    public void onPlayerDataRefreshed(PlayerDataRefreshedEvent event) {
+        bodies.invalidateAll();
+    }
+
+    /**
+     * @return Whether an Accept-Encoding header allows gzip (and does not give it q=0).
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().replace(" ", "");
+                    refused |= parameter.matches("q=0(\\.0{0,3})?");
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Body serialize(Object value) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+        if (json.length < GZIP_MIN_BYTES) {
+            return new Body(json, null);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Body(json, compressed.toByteArray());
+    }
+}
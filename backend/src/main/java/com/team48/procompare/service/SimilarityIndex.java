@@ -0,0 +1,201 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Nearest-neighbour search over players' career stat vectors, within a position and over the
+ * stats of {@link PositionEnum#getStats()}. Each stat is standardized to z-scores across the
+ * position, so yards and touchdowns weigh the same, and a missing value counts as average.
+ *
+ * Vectors are stored column-major in contiguous float arrays, one per stat, so the distance
+ * loop is a straight pass over each column that the JIT compiles to SIMD instructions. Large
+ * positions are split into chunks scored in parallel on the common pool, each keeping its own
+ * top k, and the chunk results are merged.
+ */
+public final class SimilarityIndex {
+    private static final int CHUNK = 4096;
+
+    private final PositionEnum[] positions;
+    private final Block[] blocks;
+    // Row of each slot within its position's block.
+    private final int[] rows;
+
+    private static final class Block {
+        final int[] slots;
+        // columns[stat][row]: z-score of the position's stat, 0 for no value.
+        final float[][] columns;
+
+        Block(int[] slots, float[][] columns) {
+            this.slots = slots;
+            this.columns = columns;
+        }
+    }
+
+    /** A neighbour of the queried player; a smaller distance is more similar. */
+    public static final class Neighbour {
+        private final int slot;
+        private final float distance;
+
+        Neighbour(int slot, float distance) {
+            this.slot = slot;
+            this.distance = distance;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public float getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * @param positions Position of each slot. Not copied.
+     * @param averages averages[stat][slot] in {@link PlayerStats#STAT_NAMES} order, NaN for no value.
+     */
+    SimilarityIndex(PositionEnum[] positions, double[][] averages) {
+        this.positions = positions;
+        this.rows = new int[positions.length];
+        int[] counts = new int[PositionEnum.values().length];
+        for (int slot = 0; slot < positions.length; slot++) {
+            rows[slot] = counts[positions[slot].ordinal()]++;
+        }
+
+        this.blocks = new Block[counts.length];
+        for (PositionEnum position : PositionEnum.values()) {
+            int[] slots = new int[counts[position.ordinal()]];
+            for (int slot = 0; slot < positions.length; slot++) {
+                if (positions[slot] == position) {
+                    slots[rows[slot]] = slot;
+                }
+            }
+            int[] statIndexes = PlayerStats.statIndexes(position);
+            float[][] columns = new float[statIndexes.length][];
+            for (int dim = 0; dim < statIndexes.length; dim++) {
+                columns[dim] = standardize(averages[statIndexes[dim]], slots);
+            }
+            blocks[position.ordinal()] = new Block(slots, columns);
+        }
+    }
+
+    /**
+     * Finds the players at the same position whose stat vectors are closest to a player's.
+     *
+     * @return Up to k neighbours, nearest first, not including the player; ties by slot.
+     */
+    public List<Neighbour> nearest(int slot, int k) {
+        Block block = blocks[positions[slot].ordinal()];
+        int n = block.slots.length;
+        int self = rows[slot];
+        float[] query = new float[block.columns.length];
+        for (int dim = 0; dim < query.length; dim++) {
+            query[dim] = block.columns[dim][self];
+        }
+        if (k <= 0 || n <= 1) {
+            return List.of();
+        }
+
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        TopK merged = chunkIndexes
+            .mapToObj(chunk -> scan(block, query, self, chunk * CHUNK, Math.min(n, (chunk + 1) * CHUNK), k))
+            .reduce(TopK::merge)
+            .orElseThrow();
+
+        List<Neighbour> result = new ArrayList<>(merged.size);
+        for (int i = 0; i < merged.size; i++) {
+            result.add(new Neighbour(block.slots[merged.rows[i]], (float) Math.sqrt(merged.distances[i])));
+        }
+        return result;
+    }
+
+    private static TopK scan(Block block, float[] query, int self, int from, int to, int k) {
+        float[] distances = new float[to - from];
+        for (int dim = 0; dim < query.length; dim++) {
+            float[] column = block.columns[dim];
+            float q = query[dim];
+            for (int row = from; row < to; row++) {
+                float diff = column[row] - q;
+                distances[row - from] += diff * diff;
+            }
+        }
+        TopK top = new TopK(k);
+        for (int row = from; row < to; row++) {
+            if (row != self) {
+                top.offer(row, distances[row - from]);
+            }
+        }
+        return top;
+    }
+
+    private static float[] standardize(double[] values, int[] slots) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        int count = 0;
+        for (int slot : slots) {
+            double value = values[slot];
+            if (!Double.isNaN(value)) {
+                sum += value;
+                sumOfSquares += value * value;
+                count++;
+            }
+        }
+        double mean = count == 0 ? 0 : sum / count;
+        double variance = count == 0 ? 0 : Math.max(0, sumOfSquares / count - mean * mean);
+        double scale = variance == 0 ? 0 : 1 / Math.sqrt(variance);
+
+        float[] column = new float[slots.length];
+        for (int row = 0; row < slots.length; row++) {
+            double value = values[slots[row]];
+            column[row] = Double.isNaN(value) ? 0f : (float) ((value - mean) * scale);
+        }
+        return column;
+    }
+
+    // The k smallest distances seen so far, kept sorted by (distance, row); k is small.
+    private static final class TopK {
+        final int[] rows;
+        final float[] distances;
+        int size;
+
+        TopK(int k) {
+            this.rows = new int[k];
+            this.distances = new float[k];
+        }
+
+        void offer(int row, float distance) {
+            int k = rows.length;
+            if (size == k && !before(distance, row, distances[k - 1], rows[k - 1])) {
+                return;
+            }
+            int i = size < k ? size++ : k - 1;
+            while (i > 0 && before(distance, row, distances[i - 1], rows[i - 1])) {
+                rows[i] = rows[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            rows[i] = row;
+            distances[i] = distance;
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.rows[i], other.distances[i]);
+            }
+            return this;
+        }
+
+        private static boolean before(float distance, int row, float otherDistance, int otherRow) {
+            return distance < otherDistance || (distance == otherDistance && row < otherRow);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PositionEnum;
+
+import java.util.Arrays;
+
+/**
+ * Sorted career averages of every stat within each position, for ranking a value against the
+ * other players at the same position. Built once per player snapshot; NaN (no value) is left out.
+ */
+public final class StatDistribution {
+    // sorted[position ordinal][stat], ascending.
+    private final double[][][] sorted;
+
+    /**
+     * @param positions Position of each slot.
+     * @param averages averages[stat][slot], NaN for no value.
+     */
+    StatDistribution(PositionEnum[] positions, double[][] averages) {
+        int positionCount = PositionEnum.values().length;
+        int[] counts = new int[positionCount];
+        for (PositionEnum position : positions) {
+            counts[position.ordinal()]++;
+        }
+        this.sorted = new double[positionCount][averages.length][];
+        double[] buffer = new double[positions.length];
+        for (int position = 0; position < positionCount; position++) {
+            for (int stat = 0; stat < averages.length; stat++) {
+                int n = 0;
+                for (int slot = 0; slot < positions.length; slot++) {
+                    double value = averages[stat][slot];
+                    if (positions[slot].ordinal() == position && !Double.isNaN(value)) {
+                        buffer[n++] = value;
+                    }
+                }
+                double[] values = Arrays.copyOf(buffer, n);
+                Arrays.sort(values);
+                sorted[position][stat] = values;
+            }
+        }
+    }
+
+    /**
+     * @return The ascending values of a stat at a position. Shared; do not modify.
+     */
+    public double[] sorted(PositionEnum position, int stat) {
+        return sorted[position.ordinal()][stat];
+    }
+
+    /**
+     * Percentile rank of a value among the players at a position: the percentage with a lower
+     * value, counting ties as half. The best value at a position is just under 100, a lone
+     * player is 50.
+     *
+     * @param stat Index into {@link com.team48.procompare.model.PlayerStats#STAT_NAMES}.
+     * @return The rank between 0 and 100, or NaN for a NaN value or a stat nobody has.
+     */
+    public double percentile(PositionEnum position, int stat, double value) {
+        double[] values = sorted(position, stat);
+        if (Double.isNaN(value) || values.length == 0) {
+            return Double.NaN;
+        }
+        int below = lowerBound(values, value);
+        int ties = lowerBound(values, Math.nextUp(value)) - below;
+        return 100.0 * (below + ties / 2.0) / values.length;
+    }
+
+    // First index whose value is not less than the key.
+    private static int lowerBound(double[] values, double key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
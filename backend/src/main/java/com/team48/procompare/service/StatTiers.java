@@ -0,0 +1,44 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PlayerStats;
+
+/**
+ * Tercile tier of every player for every stat, relative to the other players at the same
+ * position: the top third of career averages is High, the middle third Mid, the rest Low.
+ * Equal values always share a tier. Built once per player snapshot.
+ */
+public final class StatTiers {
+    public static final int HIGH = 0;
+    public static final int MID = 1;
+    public static final int LOW = 2;
+    public static final int NONE = -1;
+    public static final String[] NAMES = {"High", "Mid", "Low"};
+
+    // tiers[stat][slot], NONE where the player has no value for the stat.
+    private final byte[][] tiers;
+
+    StatTiers(PlayerSnapshot snapshot) {
+        StatDistribution distribution = snapshot.statDistribution();
+        int stats = PlayerStats.STAT_NAMES.size();
+        this.tiers = new byte[stats][snapshot.size()];
+        for (int stat = 0; stat < stats; stat++) {
+            for (int slot = 0; slot < snapshot.size(); slot++) {
+                double value = snapshot.average(stat, slot);
+                double[] values = distribution.sorted(snapshot.position(slot), stat);
+                if (Double.isNaN(value)) {
+                    tiers[stat][slot] = (byte) NONE;
+                } else {
+                    int n = values.length;
+                    tiers[stat][slot] = (byte) (value >= values[2 * n / 3] ? HIGH : value >= values[n / 3] ? MID : LOW);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return HIGH, MID, LOW, or NONE if the player has no value for the stat.
+     */
+    public int tier(int stat, int slot) {
+        return tiers[stat][slot];
+    }
+}
@@ -0,0 +1,347 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.exception.ImportInProgressException;
+import com.team48.procompare.exception.InvalidImportHeaderException;
+import com.team48.procompare.model.ImportReport;
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Loads season rows into Statistics from a CSV stream. The header names the columns (any order,
+ * any case) out of playerID, year, games and the stats of {@link PlayerStats#STAT_NAMES};
+ * playerID, year and at least one stat are required. A new row stores NULL for a column the
+ * header leaves out, while an existing row keeps its value there, so a file of corrections
+ * need only carry the columns it corrects. An empty field is stored as NULL either way.
+ * Quoted fields are supported, line breaks inside them are not.
+ *
+ * The stream is read one line at a time and rows are upserted on (playerID, year) in batches of
+ * {@code procompare.ingest.batch-size}, each batch committed on its own, so memory stays flat
+ * and a failure loses at most one batch of work. Rows are checked before they are written: the
+ * player must exist with a known position and have a value for at least one of that position's
+ * stats. A bad row is reported and skipped; if a batch still fails in the database, its rows are
+ * retried one at a time so only the offending rows are rejected. At the end the imported
+ * players and their teams are rescored by the {@link ScoringEngine}, which also refreshes the
+ * player aggregate.
+ *
+ * Rows are written through the import pool (see DataSourceConfig), whose batches Connector/J
+ * rewrites into multi-row INSERTs.
+ */
+@Service
+public class StatisticsImporter {
+    static final List<String> COLUMNS = Stream.concat(Stream.of("playerID", "year", "games"),
+                                                      PlayerStats.STAT_NAMES.stream()).toList();
+    private static final int PLAYER_ID = 0;
+    private static final int YEAR = 1;
+    private static final int GAMES = 2;
+    private static final int FIRST_STAT = 3;
+    private static final int COMP_PCT = COLUMNS.indexOf("compPct");
+    private static final int MAX_ERRORS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate importTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerAggregateStore playerStore;
+    private final ScoringEngine scoringEngine;
+    private final QueryMetrics queryMetrics;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StatisticsImporter(JdbcTemplate jdbcTemplate, @Qualifier("importDataSource") DataSource importDataSource,
+                              PlayerAggregateStore playerStore, ScoringEngine scoringEngine,
+                              QueryMetrics queryMetrics,
+                              @Value("${procompare.ingest.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.importTemplate = new JdbcTemplate(importDataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(importDataSource));
+        this.playerStore = playerStore;
+        this.scoringEngine = scoringEngine;
+        this.queryMetrics = queryMetrics;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports a CSV stream. Only one import runs at a time.
+     *
+     * @throws ImportInProgressException if another import is running.
+     * @throws InvalidImportHeaderException if the header is missing or names the wrong columns.
+     */
+    public ImportReport importCsv(InputStream csv) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportInProgressException();
+        }
+        try {
+            return run(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ImportReport run(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidImportHeaderException("Empty file");
+        }
+        int[] fieldOf = parseHeader(header);
+        int[] columns = presentColumns(fieldOf);
+        String sql = upsertSql(columns);
+        Map<String, PositionEnum> positions = playerPositions();
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        Set<String> written = new HashSet<>();
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setRowsRead(report.getRowsRead() + 1);
+            Object[] row;
+            try {
+                row = parseRow(splitLine(line), fieldOf, positions);
+            } catch (IllegalArgumentException e) {
+                reject(report, lineNumber, e.getMessage());
+                continue;
+            }
+            batch.add(parameters(row, columns));
+            batchLines.add(lineNumber);
+            if (batch.size() == batchSize) {
+                write(sql, batch, batchLines, written, report);
+            }
+        }
+        write(sql, batch, batchLines, written, report);
+
+        // Rescoring a large share of the league one by one costs more than a full rebuild.
+        if (written.size() > playerStore.snapshot().size() / 2) {
+            scoringEngine.rebuild();
+        } else if (!written.isEmpty()) {
+            scoringEngine.statisticsChanged(written);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRowsWritten() * 1e9 / elapsedNanos);
+        return report;
+    }
+
+    // Batch rows hold the parameters of sql, which start with playerID.
+    private void write(String sql, List<Object[]> batch, List<Long> batchLines, Set<String> written,
+                       ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                queryMetrics.batch("statistics.upsert", () -> importTemplate.batchUpdate(sql, batch)));
+            report.setRowsWritten(report.getRowsWritten() + batch.size());
+            for (Object[] row : batch) {
+                written.add((String) row[PLAYER_ID]);
+            }
+        } catch (DataAccessException e) {
+            // The batch rolled back as a whole; write its rows singly to find the bad ones.
+            for (int i = 0; i < batch.size(); i++) {
+                Object[] row = batch.get(i);
+                try {
+                    queryMetrics.update("statistics.upsert.single", () -> importTemplate.update(sql, row));
+                    report.setRowsWritten(report.getRowsWritten() + 1);
+                    written.add((String) row[PLAYER_ID]);
+                } catch (DataAccessException rowError) {
+                    reject(report, batchLines.get(i), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private static void reject(ImportReport report, long lineNumber, String reason) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getErrors().size() < MAX_ERRORS) {
+            report.getErrors().add("Line " + lineNumber + ": " + reason);
+        }
+    }
+
+    private Map<String, PositionEnum> playerPositions() {
+        Map<String, PositionEnum> positions = new HashMap<>();
+        RowCallbackHandler handler = result ->
+            positions.put(result.getString("playerID"), PositionEnum.fromCode(result.getString("position")));
+        queryMetrics.counted("statistics.import.players", () -> {
+            jdbcTemplate.query("SELECT playerID, position FROM Player", handler);
+            return positions.size();
+        });
+        return positions;
+    }
+
+    // fieldOf[column]: the field holding each of COLUMNS, or -1 if the file lacks it.
+    static int[] parseHeader(String header) {
+        int[] fieldOf = new int[COLUMNS.size()];
+        Arrays.fill(fieldOf, -1);
+        List<String> fields = splitLine(header);
+        for (int field = 0; field < fields.size(); field++) {
+            String name = fields.get(field).trim();
+            if (field == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            int column = columnIndex(name);
+            if (column < 0) {
+                throw new InvalidImportHeaderException("Unknown column " + name);
+            }
+            fieldOf[column] = field;
+        }
+        if (fieldOf[PLAYER_ID] < 0 || fieldOf[YEAR] < 0) {
+            throw new InvalidImportHeaderException("The header must include playerID and year");
+        }
+        if (Arrays.stream(fieldOf, FIRST_STAT, fieldOf.length).allMatch(field -> field < 0)) {
+            throw new InvalidImportHeaderException("The header must include at least one stat");
+        }
+        return fieldOf;
+    }
+
+    // The columns the header names, in COLUMNS order, so playerID and year come first.
+    static int[] presentColumns(int[] fieldOf) {
+        return IntStream.range(0, fieldOf.length).filter(column -> fieldOf[column] >= 0).toArray();
+    }
+
+    /**
+     * @return An upsert of the given columns that leaves any other column of an existing row as it is.
+     */
+    static String upsertSql(int[] columns) {
+        List<String> names = Arrays.stream(columns).mapToObj(COLUMNS::get).toList();
+        return "INSERT INTO Statistics (" + String.join(", ", names) + ") VALUES ("
+            + names.stream().map(name -> "?").collect(Collectors.joining(", ")) + ") AS new"
+            + " ON DUPLICATE KEY UPDATE " + names.subList(2, names.size()).stream()
+                .map(name -> name + " = new." + name).collect(Collectors.joining(", "));
+    }
+
+    private static Object[] parameters(Object[] row, int[] columns) {
+        Object[] parameters = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            parameters[i] = row[columns[i]];
+        }
+        return parameters;
+    }
+
+    private static int columnIndex(String name) {
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            if (COLUMNS.get(column).equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return A value, or null, for each of COLUMNS.
+     * @throws IllegalArgumentException with the reason the row is rejected.
+     */
+    static Object[] parseRow(List<String> fields, int[] fieldOf, Map<String, PositionEnum> positions) {
+        Object[] row = new Object[COLUMNS.size()];
+        for (int column = 0; column < row.length; column++) {
+            String value = fieldOf[column] < 0 || fieldOf[column] >= fields.size()
+                ? "" : fields.get(fieldOf[column]).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                if (column == PLAYER_ID) {
+                    row[column] = value;
+                } else if (column == COMP_PCT) {
+                    row[column] = Double.parseDouble(value);
+                } else {
+                    row[column] = Integer.parseInt(value);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(COLUMNS.get(column) + " is not a number: " + value);
+            }
+        }
+
+        String playerID = (String) row[PLAYER_ID];
+        if (playerID == null || row[YEAR] == null) {
+            throw new IllegalArgumentException("playerID and year are required");
+        }
+        int year = (Integer) row[YEAR];
+        if (year < 1920 || year > 2100) {
+            throw new IllegalArgumentException("year out of range: " + year);
+        }
+        if (row[GAMES] != null && (Integer) row[GAMES] < 0) {
+            throw new IllegalArgumentException("games is negative");
+        }
+        if (row[COMP_PCT] != null) {
+            double compPct = (Double) row[COMP_PCT];
+            if (!(compPct >= 0 && compPct <= 100)) {
+                throw new IllegalArgumentException("compPct out of range: " + compPct);
+            }
+        }
+        if (!positions.containsKey(playerID)) {
+            throw new IllegalArgumentException("Unknown player " + playerID);
+        }
+        PositionEnum position = positions.get(playerID);
+        if (position == null) {
+            throw new IllegalArgumentException("Player " + playerID + " has no known position");
+        }
+        for (String stat : position.getStats()) {
+            if (row[COLUMNS.indexOf(stat)] != null) {
+                return row;
+            }
+        }
+        throw new IllegalArgumentException("No " + position + " stats (" + String.join(", ", position.getStats())
+            + ") for " + playerID);
+    }
+
+    // Splits a CSV line on commas; a field in double quotes may contain commas and "" for a quote.
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
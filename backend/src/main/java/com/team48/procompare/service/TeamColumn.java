@@ -0,0 +1,43 @@
+package com.team48.procompare.service;
+
+/**
+ * Columns of the Team table that team listings can be sorted on.
+ */
+public enum TeamColumn {
+    TEAM_ID("teamID"),
+    TEAM_NAME("teamName"),
+    TEAM_STRENGTH("teamStrength");
+
+    private final String columnName;
+
+    TeamColumn(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Resolves an {@code orderBy} request parameter to a column. A table prefix ("Team.teamName")
+     * is accepted.
+     *
+     * @return The matching column, or null if the value is not a sortable column.
+     */
+    public static TeamColumn fromOrderBy(String orderBy) {
+        if (orderBy == null || orderBy.isBlank()) {
+            return null;
+        }
+        String name = orderBy.trim();
+        int dot = name.indexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        for (TeamColumn column : values()) {
+            if (column.columnName.equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+}
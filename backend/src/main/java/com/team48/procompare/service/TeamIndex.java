@@ -0,0 +1,159 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.event.PlayerDataRefreshedEvent;
+import com.team48.procompare.model.Team;
+import com.team48.procompare.rowmapper.TeamRowMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory copy of the Team table backing GET /teams and team autocomplete, so team listings
+ * never reach the database. Holds the rows, a name search index and, for every
+ * {@link TeamColumn}, the rows' ascending order; a listing walks that order forwards or
+ * backwards and copies out the teams that pass the name filter.
+ *
+ * The whole structure is immutable and replaced in one step whenever the player data (and
+ * with it team strengths and rosters) is refreshed.
+ */
+@Component
+public class TeamIndex {
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+    private volatile Teams teams;
+
+    public TeamIndex(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+    }
+
+    private static final class Teams {
+        final List<Team> rows;
+        final NameIndex index;
+        final Map<Integer, Integer> rowByTeamID = new HashMap<>();
+        // orders[column ordinal]: row numbers ascending by the column, then by teamID, as the
+        // old ORDER BY col, teamID did; descending listings walk it backwards.
+        final int[][] orders;
+
+        Teams(List<Team> rows) {
+            this.rows = rows;
+            String[] names = new String[rows.size()];
+            float[] strengths = new float[rows.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = rows.get(i).getTeamName();
+                strengths[i] = rows.get(i).getTeamStrength() == null ? 0f : rows.get(i).getTeamStrength();
+            }
+            this.index = new NameIndex(names, strengths);
+            for (int i = 0; i < rows.size(); i++) {
+                rowByTeamID.put(rows.get(i).getTeamID(), i);
+            }
+
+            this.orders = new int[TeamColumn.values().length][];
+            for (TeamColumn column : TeamColumn.values()) {
+                Comparator<Team> byTeamID = Comparator.comparingInt(Team::getTeamID);
+                orders[column.ordinal()] = sortOrder(rows, switch (column) {
+                    case TEAM_ID -> byTeamID;
+                    // Folded like the database's case- and accent-insensitive collation; no name sorts first.
+                    case TEAM_NAME -> Comparator.comparing((Team team) -> NameIndex.normalize(team.getTeamName()),
+                                                           Comparator.nullsFirst(Comparator.naturalOrder()))
+                                                .thenComparing(byTeamID);
+                    case TEAM_STRENGTH -> Comparator.comparing(Team::getTeamStrength,
+                                                               Comparator.nullsFirst(Comparator.naturalOrder()))
+                                                    .thenComparing(byTeamID);
+                });
+            }
+        }
+
+        private static int[] sortOrder(List<Team> rows, Comparator<Team> comparator) {
+            return IntStream.range(0, rows.size()).boxed()
+                .sorted((a, b) -> comparator.compare(rows.get(a), rows.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+    }
+
+    // Runs before the other refresh listeners, so by the time caches are cleared and versions
+    // bumped the index already holds the new teams.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPlayerDataRefreshed(PlayerDataRefreshedEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        teams = new Teams(queryMetrics.list("teams.index",
+            () -> jdbcTemplate.query("SELECT teamID, teamName, teamStrength FROM Team", new TeamRowMapper())));
+    }
+
+    /**
+     * Lists teams in order, optionally filtered by name.
+     *
+     * @param name Substring of the team name to filter by, ignoring case and accents; blank for all teams.
+     * @return Copies of the matching teams.
+     */
+    public List<Team> list(TeamColumn column, boolean ascending, String name) {
+        Teams current = current();
+        BitSet matches = name == null || name.isBlank() ? null : current.index.containing(name);
+        int[] order = current.orders[column.ordinal()];
+        List<Team> result = new ArrayList<>(matches == null ? order.length : matches.cardinality());
+        for (int i = 0; i < order.length; i++) {
+            int row = order[ascending ? i : order.length - 1 - i];
+            if (matches == null || matches.get(row)) {
+                result.add(copy(current.rows.get(row)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return A copy of the team, or null if there is no such team.
+     */
+    public Team find(int teamID) {
+        Teams current = current();
+        Integer row = current.rowByTeamID.get(teamID);
+        return row == null ? null : copy(current.rows.get(row));
+    }
+
+    /**
+     * @return The strongest teams with a name word starting with the prefix, strongest first.
+     */
+    public List<Team> topByPrefix(String prefix, int limit) {
+        Teams current = current();
+        List<Team> result = new ArrayList<>();
+        for (int i : current.index.topByPrefix(prefix, limit)) {
+            result.add(copy(current.rows.get(i)));
+        }
+        return result;
+    }
+
+    private static Team copy(Team row) {
+        Team team = new Team();
+        team.setTeamID(row.getTeamID());
+        team.setTeamName(row.getTeamName());
+        team.setTeamStrength(row.getTeamStrength());
+        return team;
+    }
+
+    private Teams current() {
+        Teams current = teams;
+        if (current == null) {
+            synchronized (this) {
+                if (teams == null) {
+                    rebuild();
+                }
+                current = teams;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,107 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ranks articles for GET /articles/trending by recent activity: each upvote adds 1, each
+ * downvote subtracts 1 and each comment adds 2, and every contribution halves in weight each
+ * {@code procompare.trending.half-life-minutes} (see {@link TrendingScores}).
+ *
+ * Article and comment writes update the ranking as they happen, votes as they are flushed (see
+ * {@link ArticleVoteBuffer}), so voting never waits on this index. Articles has no
+ * timestamps, so the startup load counts each article's existing votes and comments as
+ * activity at load time.
+ */
+@Component
+public class TrendingIndex {
+    static final double UPVOTE = 1;
+    static final double DOWNVOTE = -1;
+    static final double COMMENT = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryMetrics queryMetrics;
+    private final TrendingScores scores;
+    private boolean loaded;
+
+    public TrendingIndex(JdbcTemplate jdbcTemplate, QueryMetrics queryMetrics,
+                         @Value("${procompare.trending.half-life-minutes:360}") long halfLifeMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryMetrics = queryMetrics;
+        this.scores = new TrendingScores(halfLifeMinutes * 60_000, System.currentTimeMillis());
+    }
+
+    /**
+     * @return IDs of the k most active articles, most active first.
+     */
+    public synchronized List<Integer> top(int k) {
+        ensureLoaded();
+        return scores.top(k);
+    }
+
+    public synchronized void articleCreated(int articleID) {
+        ensureLoaded();
+        scores.track(articleID);
+    }
+
+    public synchronized void articleDeleted(int articleID) {
+        ensureLoaded();
+        scores.remove(articleID);
+    }
+
+    /**
+     * Counts votes as activity at the time they are flushed.
+     */
+    public synchronized void votesFlushed(int articleID, int upvotes, int downvotes) {
+        ensureLoaded();
+        scores.add(articleID, upvotes * UPVOTE + downvotes * DOWNVOTE, System.currentTimeMillis());
+    }
+
+    public synchronized void commentAdded(int articleID) {
+        ensureLoaded();
+        scores.add(articleID, COMMENT, System.currentTimeMillis());
+    }
+
+    /**
+     * Reloads every article's activity from the database, forgetting its age.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        scores.clear(now);
+        queryMetrics.counted("articles.trending.articles", () -> {
+            int[] rows = new int[1];
+            jdbcTemplate.query(
+                """
+                SELECT a.articleID, a.numUpvotes, a.numDownvotes, COUNT(c.commentID) AS numComments
+                  FROM Articles a
+                  LEFT JOIN Comments c ON c.articleID = a.articleID
+                 GROUP BY a.articleID, a.numUpvotes, a.numDownvotes
+                """,
+                result -> {
+                    int articleID = result.getInt("articleID");
+                    scores.track(articleID);
+                    scores.add(articleID, result.getInt("numUpvotes") * UPVOTE
+                        + result.getInt("numDownvotes") * DOWNVOTE
+                        + result.getInt("numComments") * COMMENT, now);
+                    rows[0]++;
+                });
+            return rows[0];
+        });
+        loaded = true;
+    }
+
+    // The first use may come from a read-only request; load from the primary all the same, as
+    // writes from here on are applied on top of what is loaded.
+    private void ensureLoaded() {
+        if (!loaded) {
+            ReplicaRoutingDataSource.onPrimary(this::rebuild);
+        }
+    }
+}
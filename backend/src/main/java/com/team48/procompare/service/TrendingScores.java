@@ -0,0 +1,118 @@
+package com.team48.procompare.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Articles ranked by exponentially decaying activity. Updates are O(log n) and the top k are
+ * the first k entries of a sorted set, so reads never sort.
+ *
+ * Uses forward decay: activity at time t adds weight * 2^((t - landmark) / halfLife) instead of
+ * every stored score being decayed as time passes. All scores decay at the same rate, so the
+ * order only changes when activity is added; an article's decayed score at time now is its
+ * stored score times 2^(-(now - landmark) / halfLife). Once the boost for new activity grows
+ * large, the landmark moves up to the present and all scores are scaled down together.
+ */
+final class TrendingScores {
+    // Largest boost exponent before the landmark is moved; 2^64 leaves ample double range.
+    private static final double MAX_EXPONENT = 64;
+
+    private final double halfLifeMillis;
+    private long landmark;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(
+        Comparator.comparingDouble((Entry entry) -> -entry.score).thenComparingInt(entry -> entry.articleID));
+
+    TrendingScores(long halfLifeMillis, long now) {
+        this.halfLifeMillis = Math.max(1, halfLifeMillis);
+        this.landmark = now;
+    }
+
+    private static final class Entry {
+        final int articleID;
+        double score;
+
+        Entry(int articleID) {
+            this.articleID = articleID;
+        }
+    }
+
+    /**
+     * Starts ranking an article with no activity, if it is not ranked already.
+     */
+    void track(int articleID) {
+        entries.computeIfAbsent(articleID, id -> {
+            Entry entry = new Entry(id);
+            ranked.add(entry);
+            return entry;
+        });
+    }
+
+    /**
+     * Adds activity to a ranked article; does nothing for an article that is not ranked.
+     */
+    void add(int articleID, double weight, long now) {
+        Entry entry = entries.get(articleID);
+        if (entry == null) {
+            return;
+        }
+        double exponent = (now - landmark) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            moveLandmark(now, exponent);
+            exponent = 0;
+        }
+        // The set orders by score, so take the entry out while its score changes.
+        ranked.remove(entry);
+        entry.score += weight * Math.pow(2, exponent);
+        ranked.add(entry);
+    }
+
+    void remove(int articleID) {
+        Entry entry = entries.remove(articleID);
+        if (entry != null) {
+            ranked.remove(entry);
+        }
+    }
+
+    void clear(long now) {
+        entries.clear();
+        ranked.clear();
+        landmark = now;
+    }
+
+    /**
+     * @return IDs of the k highest scoring articles, highest first.
+     */
+    List<Integer> top(int k) {
+        List<Integer> top = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Entry entry : ranked) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(entry.articleID);
+        }
+        return top;
+    }
+
+    /**
+     * @return The article's decayed score at time now, or NaN if it is not ranked.
+     */
+    double score(int articleID, long now) {
+        Entry entry = entries.get(articleID);
+        return entry == null ? Double.NaN : entry.score * Math.pow(2, -(now - landmark) / halfLifeMillis);
+    }
+
+    private void moveLandmark(long now, double exponent) {
+        double scale = Math.pow(2, -exponent);
+        ranked.clear();
+        for (Entry entry : entries.values()) {
+            entry.score *= scale;
+            ranked.add(entry);
+        }
+        landmark = now;
+    }
+}
@@ -0,0 +1,121 @@
+package com.team48.procompare.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+	// Two embedded databases standing in for the primary and a replica; each names itself.
+	private final EmbeddedDatabase primary = database("primary");
+	private final EmbeddedDatabase replica = database("replica");
+	private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+		"SELECT seconds AS " + ReplicaRoutingDataSource.LAG_COLUMN + " FROM ReplicaLag", 5);
+	private final DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+	private final TransactionTemplate transactionTemplate =
+		new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+	@AfterEach
+	void shutdown() {
+		ReplicaRoutingDataSource.setReplicaAllowed(false);
+		primary.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void readOnlyRequestsUseAHealthyReplica() {
+		routing.checkReplicas();
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		assertThat(routing.healthyReplicas()).isEqualTo(1);
+		assertThat(origin()).isEqualTo("replica");
+	}
+
+	@Test
+	void otherWorkUsesThePrimary() {
+		routing.checkReplicas();
+
+		assertThat(origin()).isEqualTo("primary");
+	}
+
+	@Test
+	void readsUseThePrimaryUntilTheReplicaHasBeenChecked() {
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		assertThat(origin()).isEqualTo("primary");
+	}
+
+	@Test
+	void transactionsFollowTheirReadOnlyFlag() {
+		routing.checkReplicas();
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		assertThat(transactionTemplate.execute(status -> origin())).isEqualTo("primary");
+
+		ReplicaRoutingDataSource.setReplicaAllowed(false);
+		transactionTemplate.setReadOnly(true);
+		assertThat(transactionTemplate.execute(status -> origin())).isEqualTo("replica");
+	}
+
+	@Test
+	void onPrimaryOverridesAReadOnlyRequest() {
+		routing.checkReplicas();
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		String[] origin = new String[1];
+		ReplicaRoutingDataSource.onPrimary(() -> origin[0] = origin());
+
+		assertThat(origin[0]).isEqualTo("primary");
+		assertThat(origin()).isEqualTo("replica");
+	}
+
+	@Test
+	void aLaggingReplicaFallsBackToThePrimary() {
+		routing.checkReplicas();
+		new JdbcTemplate(replica).update("UPDATE ReplicaLag SET seconds = 6");
+		routing.checkReplicas();
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		assertThat(routing.healthyReplicas()).isZero();
+		assertThat(origin()).isEqualTo("primary");
+	}
+
+	@Test
+	void aReplicaThatStopsReplicatingFallsBackToThePrimary() {
+		routing.checkReplicas();
+		new JdbcTemplate(replica).update("DELETE FROM ReplicaLag");
+		routing.checkReplicas();
+		ReplicaRoutingDataSource.setReplicaAllowed(true);
+
+		assertThat(origin()).isEqualTo("primary");
+	}
+
+	private String origin() {
+		return jdbcTemplate.queryForObject("SELECT name FROM Origin", String.class);
+	}
+
+	private static EmbeddedDatabase database(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+			.setType(EmbeddedDatabaseType.H2)
+			.setName(name)
+			.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE Origin (name VARCHAR(16))");
+		jdbcTemplate.update("INSERT INTO Origin (name) VALUES (?)", name);
+		jdbcTemplate.execute("CREATE TABLE ReplicaLag (seconds INT)");
+		jdbcTemplate.update("INSERT INTO ReplicaLag (seconds) VALUES (0)");
+		return database;
+	}
+}
@@ -0,0 +1,54 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.ArticleEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleFeedRingTests {
+
+	private final ArticleFeedRing ring = new ArticleFeedRing(4);
+
+	@Test
+	void afterReturnsTheNewerEventsOldestFirst() {
+		ring.append(ArticleFeed.ARTICLE_CREATED, event(1));
+		ring.append(ArticleFeed.COMMENT_ADDED, event(1));
+		ring.append(ArticleFeed.ARTICLE_DELETED, event(1));
+
+		assertThat(seqs(ring.after(1))).containsExactly(2L, 3L);
+		assertThat(ring.after(3)).isEmpty();
+	}
+
+	@Test
+	void afterKeepsOnlyTheNewestVoteTotalsPerArticle() {
+		ring.append(ArticleFeed.VOTE_CHANGED, event(1));
+		ring.append(ArticleFeed.VOTE_CHANGED, event(2));
+		ring.append(ArticleFeed.COMMENT_ADDED, event(1));
+		ring.append(ArticleFeed.VOTE_CHANGED, event(1));
+
+		assertThat(seqs(ring.after(0))).containsExactly(2L, 3L, 4L);
+	}
+
+	@Test
+	void afterIsNullOnceMissedEventsAreOverwritten() {
+		for (int i = 0; i < 6; i++) {
+			ring.append(ArticleFeed.COMMENT_ADDED, event(i));
+		}
+
+		assertThat(ring.after(1)).isNull();
+		assertThat(seqs(ring.after(2))).containsExactly(3L, 4L, 5L, 6L);
+		assertThat(ring.after(7)).isNull();
+	}
+
+	private static ArticleEvent event(int articleID) {
+		ArticleEvent event = new ArticleEvent();
+		event.setArticleID(articleID);
+		return event;
+	}
+
+	private static List<Long> seqs(List<ArticleFeedRing.Entry> entries) {
+		return entries.stream().map(entry -> entry.seq).toList();
+	}
+}
@@ -0,0 +1,99 @@
+package com.team48.procompare.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArticleVoteBufferTests {
+
+	private final EmbeddedDatabase database = database();
+	private final ExecutorService voter = Executors.newSingleThreadExecutor();
+	// Votes recorded by the voter thread while a flush's batch is uncommitted.
+	private final List<Integer> downvotesDuringFlush = new ArrayList<>();
+
+	// Records a downvote from another thread after the batch has run but before it commits.
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database) {
+		@Override
+		public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+			int[] updated = super.batchUpdate(sql, batchArgs);
+			try {
+				downvotesDuringFlush.add(voter.submit(() -> buffer.recordDownvote(1)).get(5, TimeUnit.SECONDS));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			return updated;
+		}
+	};
+	private final QueryMetrics queryMetrics = new QueryMetrics(new SimpleMeterRegistry());
+	private final ArticleVoteBuffer buffer = new ArticleVoteBuffer(jdbcTemplate,
+		new DataSourceTransactionManager(database), new CredibilityIndex(jdbcTemplate, queryMetrics),
+		new TrendingIndex(jdbcTemplate, queryMetrics, 360), new ArticleFeed(16, 1, 16, 5000, 60000),
+		new ResourceVersions(), queryMetrics);
+
+	@AfterEach
+	void shutdown() {
+		voter.shutdownNow();
+		database.shutdown();
+	}
+
+	@Test
+	void aDownvoteDuringAFlushSeesTheExactTotal() {
+		assertThat(buffer.recordDownvote(1)).isEqualTo(3);
+		assertThat(buffer.recordDownvote(1)).isEqualTo(4);
+
+		buffer.flush();
+
+		// The fifth downvote crossed the threshold mid-flush without waiting for the commit.
+		assertThat(downvotesDuringFlush).containsExactly(5);
+		assertThat(persistedDownvotes()).isEqualTo(4);
+		assertThat(buffer.pendingDownvotes(1)).isEqualTo(1);
+		assertThat(buffer.recordDownvote(1)).isEqualTo(6);
+	}
+
+	@Test
+	void aFailedFlushKeepsTheVotesPending() {
+		buffer.recordDownvote(1);
+		buffer.recordUpvote(1);
+		new JdbcTemplate(database).execute("DROP TABLE Articles");
+
+		assertThatThrownBy(buffer::flush).isInstanceOf(RuntimeException.class);
+
+		assertThat(buffer.pendingDownvotes(1)).isEqualTo(1);
+		assertThat(buffer.pendingUpvotes(1)).isEqualTo(1);
+	}
+
+	private int persistedDownvotes() {
+		return new JdbcTemplate(database).queryForObject("SELECT numDownvotes FROM Articles WHERE articleID = 1",
+			Integer.class);
+	}
+
+	// Article 1 starts with two downvotes.
+	private static EmbeddedDatabase database() {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+			.setType(EmbeddedDatabaseType.H2)
+			.generateUniqueName(true)
+			.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE Articles (articleID INT PRIMARY KEY, headlines VARCHAR(255), "
+			+ "userID VARCHAR(255), numUpvotes INT DEFAULT 0, numDownvotes INT DEFAULT 0)");
+		jdbcTemplate.execute("CREATE TABLE Comments (commentID INT PRIMARY KEY, articleID INT, userID VARCHAR(255), "
+			+ "text VARCHAR(1024))");
+		jdbcTemplate.execute("CREATE TABLE PlayerNews (playerID VARCHAR(255), articleID INT)");
+		jdbcTemplate.update("INSERT INTO Articles (articleID, userID, numUpvotes, numDownvotes) VALUES (1, 'ann', 0, 2)");
+		return database;
+	}
+}
@@ -0,0 +1,81 @@
+package com.team48.procompare.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutTests {
+
+	private final FanOut fanOut = new FanOut(false, 2);
+
+	@AfterEach
+	void shutdown() {
+		fanOut.shutdown();
+	}
+
+	@Test
+	void forkedTasksRunInParallel() {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		try (FanOut.Scope scope = fanOut.open()) {
+			// Each task waits for the other, so this only finishes if they run at the same time.
+			Supplier<String> first = scope.fork(() -> awaitOther(bothStarted, "first"));
+			Supplier<String> second = scope.fork(() -> awaitOther(bothStarted, "second"));
+			scope.join();
+			assertThat(first.get()).isEqualTo("first");
+			assertThat(second.get()).isEqualTo("second");
+		}
+	}
+
+	@Test
+	void joinRethrowsTheTaskFailure() {
+		try (FanOut.Scope scope = fanOut.open()) {
+			scope.fork(() -> "ok");
+			scope.fork(() -> {
+				throw new IllegalArgumentException("boom");
+			});
+			assertThatThrownBy(scope::join).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+		}
+	}
+
+	@Test
+	void concurrencyIsCapped() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		try (FanOut.Scope scope = fanOut.open()) {
+			for (int i = 0; i < 8; i++) {
+				scope.fork(() -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					sleep(20);
+					return running.decrementAndGet();
+				});
+			}
+			scope.join();
+		}
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	private static String awaitOther(CountDownLatch bothStarted, String result) {
+		bothStarted.countDown();
+		try {
+			assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+		return result;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
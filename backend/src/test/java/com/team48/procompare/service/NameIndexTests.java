@@ -0,0 +1,40 @@
+package com.team48.procompare.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameIndexTests {
+
+	private final NameIndex index = new NameIndex(
+		new String[] {"Patrick Mahomes", "Josh Allen", "José Martínez", "Allen Robinson", null},
+		new float[] {95f, 90f, 40f, 60f, 10f});
+
+	@Test
+	void containingMatchesSubstringsIgnoringCaseAndAccents() {
+		assertThat(slots(index.containing("ALLEN"))).containsExactly(1, 3);
+		assertThat(slots(index.containing("martinez"))).containsExactly(2);
+		assertThat(slots(index.containing("jos"))).containsExactly(1, 2);
+		assertThat(slots(index.containing("homes"))).containsExactly(0);
+		assertThat(slots(index.containing("zzz"))).isEmpty();
+	}
+
+	@Test
+	void containingShortQueryFallsBackToScan() {
+		assertThat(slots(index.containing("en"))).containsExactly(1, 3);
+	}
+
+	@Test
+	void topByPrefixMatchesAnyWordBestScoreFirst() {
+		assertThat(index.topByPrefix("all", 10)).containsExactly(1, 3);
+		assertThat(index.topByPrefix("jo", 1)).containsExactly(1);
+		assertThat(index.topByPrefix("patrick ma", 10)).containsExactly(0);
+		assertThat(index.topByPrefix("", 10)).isEmpty();
+	}
+
+	private static int[] slots(BitSet bits) {
+		return bits.stream().toArray();
+	}
+}
@@ -0,0 +1,55 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTests {
+	private static final int RSH_YDS = PlayerStats.STAT_NAMES.indexOf("rshYds");
+
+	// Slots 0-3 are running backs, 4 is a quarterback with the same rushing yards as slot 0.
+	// No two running backs are the same distance from slot 0 or slot 2.
+	private final SimilarityIndex index = new SimilarityIndex(
+		new PositionEnum[] {PositionEnum.RB, PositionEnum.RB, PositionEnum.RB, PositionEnum.RB, PositionEnum.QB},
+		averages(new double[] {60, 62, 90, 35, 60}));
+
+	@Test
+	void nearestIsClosestFirstWithinThePosition() {
+		assertThat(slots(index.nearest(0, 10))).containsExactly(1, 3, 2);
+		assertThat(slots(index.nearest(2, 1))).containsExactly(1);
+	}
+
+	@Test
+	void tiesAreBrokenBySlot() {
+		// Slots 1 and 2 have identical vectors, so their distances from slot 0 are exactly equal.
+		SimilarityIndex tied = new SimilarityIndex(
+			new PositionEnum[] {PositionEnum.RB, PositionEnum.RB, PositionEnum.RB},
+			averages(new double[] {60, 90, 90}));
+		assertThat(slots(tied.nearest(0, 10))).containsExactly(1, 2);
+		assertThat(slots(tied.nearest(0, 1))).containsExactly(1);
+	}
+
+	@Test
+	void nearestIsEmptyWhenAlone() {
+		assertThat(index.nearest(4, 10)).isEmpty();
+	}
+
+	private static int[] slots(List<SimilarityIndex.Neighbour> neighbours) {
+		return neighbours.stream().mapToInt(SimilarityIndex.Neighbour::getSlot).toArray();
+	}
+
+	// Every stat is NaN (average) except rshYds.
+	private static double[][] averages(double[] rshYds) {
+		double[][] averages = new double[PlayerStats.STAT_NAMES.size()][rshYds.length];
+		for (double[] stat : averages) {
+			Arrays.fill(stat, Double.NaN);
+		}
+		averages[RSH_YDS] = rshYds;
+		return averages;
+	}
+}
@@ -0,0 +1,49 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.model.PlayerStats;
+import com.team48.procompare.model.PositionEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatDistributionTests {
+	private static final int PASS_YDS = PlayerStats.STAT_NAMES.indexOf("passYds");
+	private static final int REC = PlayerStats.STAT_NAMES.indexOf("rec");
+
+	private final StatDistribution distribution = new StatDistribution(
+		new PositionEnum[] {PositionEnum.QB, PositionEnum.QB, PositionEnum.QB, PositionEnum.QB, PositionEnum.WR},
+		averages(new double[] {200, 250, 250, Double.NaN, 300}));
+
+	@Test
+	void sortedKeepsOnlyThePositionsValues() {
+		assertThat(distribution.sorted(PositionEnum.QB, PASS_YDS)).containsExactly(200, 250, 250);
+		assertThat(distribution.sorted(PositionEnum.WR, PASS_YDS)).containsExactly(300);
+		assertThat(distribution.sorted(PositionEnum.RB, PASS_YDS)).isEmpty();
+	}
+
+	@Test
+	void percentileCountsLowerValuesAndHalfOfTies() {
+		assertThat(distribution.percentile(PositionEnum.QB, PASS_YDS, 200)).isEqualTo(100.0 / 6);
+		assertThat(distribution.percentile(PositionEnum.QB, PASS_YDS, 250)).isEqualTo(200.0 / 3);
+		assertThat(distribution.percentile(PositionEnum.QB, PASS_YDS, 1000)).isEqualTo(100.0);
+		assertThat(distribution.percentile(PositionEnum.WR, PASS_YDS, 300)).isEqualTo(50.0);
+	}
+
+	@Test
+	void percentileIsNaNWithoutValues() {
+		assertThat(distribution.percentile(PositionEnum.QB, PASS_YDS, Double.NaN)).isNaN();
+		assertThat(distribution.percentile(PositionEnum.QB, REC, 5)).isNaN();
+	}
+
+	// Every stat is NaN except passYds.
+	private static double[][] averages(double[] passYds) {
+		double[][] averages = new double[PlayerStats.STAT_NAMES.size()][passYds.length];
+		for (double[] stat : averages) {
+			Arrays.fill(stat, Double.NaN);
+		}
+		averages[PASS_YDS] = passYds;
+		return averages;
+	}
+}
@@ -0,0 +1,96 @@
+package com.team48.procompare.service;
+
+import com.team48.procompare.exception.InvalidImportHeaderException;
+import com.team48.procompare.model.PositionEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatisticsImporterTests {
+
+	private final Map<String, PositionEnum> positions = new HashMap<>(Map.of("qb1", PositionEnum.QB));
+
+	@Test
+	void splitLineHandlesQuotedCommasAndQuotes() {
+		assertThat(StatisticsImporter.splitLine("a,\"b,c\",\"say \"\"hi\"\"\",,"))
+			.containsExactly("a", "b,c", "say \"hi\"", "", "");
+	}
+
+	@Test
+	void parseHeaderMatchesColumnsInAnyOrderAndCase() {
+		int[] fieldOf = StatisticsImporter.parseHeader("\uFEFFYear, PLAYERID ,passyds");
+
+		assertThat(fieldOf[StatisticsImporter.COLUMNS.indexOf("playerID")]).isEqualTo(1);
+		assertThat(fieldOf[StatisticsImporter.COLUMNS.indexOf("year")]).isEqualTo(0);
+		assertThat(fieldOf[StatisticsImporter.COLUMNS.indexOf("passYds")]).isEqualTo(2);
+		assertThat(fieldOf[StatisticsImporter.COLUMNS.indexOf("games")]).isEqualTo(-1);
+	}
+
+	@Test
+	void parseHeaderRejectsUnknownAndMissingColumns() {
+		assertThatThrownBy(() -> StatisticsImporter.parseHeader("playerID,year,touchdowns"))
+			.isInstanceOf(InvalidImportHeaderException.class)
+			.hasMessageContaining("touchdowns");
+		assertThatThrownBy(() -> StatisticsImporter.parseHeader("playerID,games"))
+			.isInstanceOf(InvalidImportHeaderException.class);
+	}
+
+	@Test
+	void parseHeaderRequiresAStat() {
+		assertThatThrownBy(() -> StatisticsImporter.parseHeader("playerID,year,games"))
+			.isInstanceOf(InvalidImportHeaderException.class)
+			.hasMessageContaining("at least one stat");
+	}
+
+	@Test
+	void partialReimportOnlyUpdatesTheColumnsInTheHeader() {
+		int[] columns = StatisticsImporter.presentColumns(StatisticsImporter.parseHeader("compPct,playerID,year,passYds"));
+
+		assertThat(StatisticsImporter.upsertSql(columns)).isEqualTo(
+			"INSERT INTO Statistics (playerID, year, passYds, compPct) VALUES (?, ?, ?, ?) AS new"
+				+ " ON DUPLICATE KEY UPDATE passYds = new.passYds, compPct = new.compPct");
+	}
+
+	@Test
+	void parseRowReadsValuesAndLeavesEmptyFieldsNull() {
+		Object[] row = parse("playerID,year,games,passYds,compPct", "qb1,2023,,4100,66.5");
+
+		assertThat(row[StatisticsImporter.COLUMNS.indexOf("playerID")]).isEqualTo("qb1");
+		assertThat(row[StatisticsImporter.COLUMNS.indexOf("year")]).isEqualTo(2023);
+		assertThat(row[StatisticsImporter.COLUMNS.indexOf("games")]).isNull();
+		assertThat(row[StatisticsImporter.COLUMNS.indexOf("passYds")]).isEqualTo(4100);
+		assertThat(row[StatisticsImporter.COLUMNS.indexOf("compPct")]).isEqualTo(66.5);
+	}
+
+	@Test
+	void parseRowRejectsValuesOutOfRange() {
+		assertRejected("playerID,year,passYds", "qb1,1900,4100", "year out of range");
+		assertRejected("playerID,year,games,passYds", "qb1,2023,-1,4100", "games is negative");
+		assertRejected("playerID,year,compPct", "qb1,2023,101", "compPct out of range");
+		assertRejected("playerID,year,passYds", "qb1,2023,lots", "not a number");
+	}
+
+	@Test
+	void parseRowRequiresAKnownPlayerWithStatsForTheirPosition() {
+		positions.put("nobody", null);
+
+		assertRejected("playerID,year,passYds", "rb1,2023,4100", "Unknown player");
+		assertRejected("playerID,year,passYds", "nobody,2023,4100", "no known position");
+		assertRejected("playerID,year,rshYds", "qb1,2023,300", "No QB stats");
+	}
+
+	private Object[] parse(String header, String line) {
+		return StatisticsImporter.parseRow(StatisticsImporter.splitLine(line), StatisticsImporter.parseHeader(header),
+			positions);
+	}
+
+	private void assertRejected(String header, String line, String reason) {
+		assertThatThrownBy(() -> parse(header, line))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining(reason);
+	}
+}
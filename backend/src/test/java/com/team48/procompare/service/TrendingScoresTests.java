@@ -0,0 +1,57 @@
+package com.team48.procompare.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingScoresTests {
+	private static final long HOUR = 3_600_000;
+
+	private final TrendingScores scores = new TrendingScores(HOUR, 0);
+
+	@Test
+	void recentActivityOutweighsOlderActivity() {
+		scores.track(1);
+		scores.track(2);
+		scores.add(1, 3, 0);
+		scores.add(2, 2, 2 * HOUR);
+
+		// Article 1 has decayed to 3/4 by the time article 2 is voted on.
+		assertThat(scores.score(1, 2 * HOUR)).isCloseTo(0.75, within(1e-9));
+		assertThat(scores.top(2)).containsExactly(2, 1);
+	}
+
+	@Test
+	void topIsLimitedAndBreaksTiesByArticleID() {
+		for (int articleID = 5; articleID >= 1; articleID--) {
+			scores.track(articleID);
+		}
+		scores.add(4, 1, 0);
+
+		assertThat(scores.top(3)).containsExactly(4, 1, 2);
+	}
+
+	@Test
+	void untrackedArticlesAreIgnored() {
+		scores.add(7, 1, 0);
+		scores.track(8);
+		scores.remove(8);
+
+		assertThat(scores.top(10)).isEmpty();
+		assertThat(scores.score(7, 0)).isNaN();
+	}
+
+	@Test
+	void movingTheLandmarkKeepsScoresAndOrder() {
+		scores.track(1);
+		scores.track(2);
+		scores.add(1, 1, 0);
+		scores.add(2, 1, HOUR);
+		long later = 100 * HOUR;
+		scores.add(1, 0, later);
+
+		assertThat(scores.score(2, later)).isCloseTo(Math.pow(2, -99), within(1e-40));
+		assertThat(scores.top(2)).containsExactly(2, 1);
+	}
+}